@@ -127,7 +127,9 @@ public class LogbackLogging13System extends Slf4JLoggingSystem {
         if (isAlreadyInitialized(loggerContext)) {
             return;
         }
-        super.initialize(initializationContext, configLocation, logFile);
+        if (!initializeFromAotGeneratedArtifactsIfPossible(initializationContext, logFile)) {
+            super.initialize(initializationContext, configLocation, logFile);
+        }
         loggerContext.getTurboFilterList().remove(FILTER);
         markAsInitialized(loggerContext);
         if (StringUtils.hasText(System.getProperty(CONFIGURATION_FILE_PROPERTY))) {
@@ -137,6 +139,23 @@ public class LogbackLogging13System extends Slf4JLoggingSystem {
         }
     }
 
+    private boolean initializeFromAotGeneratedArtifactsIfPossible(
+            LoggingInitializationContext initializationContext, LogFile logFile) {
+        if (initializationContext == null || !SpringBootJoran13Configurator.hasAotGeneratedArtifacts()) {
+            return false;
+        }
+        applySystemProperties(initializationContext.getEnvironment(), logFile);
+        LoggerContext loggerContext = getLoggerContext();
+        stopAndReset(loggerContext);
+        SpringBootJoran13Configurator configurator = new SpringBootJoran13Configurator(initializationContext);
+        configurator.setContext(loggerContext);
+        boolean configuredUsingAotGeneratedArtifacts = configurator.configureUsingAotGeneratedArtifacts();
+        if (configuredUsingAotGeneratedArtifacts) {
+            reportConfigurationErrorsIfNecessary(loggerContext);
+        }
+        return configuredUsingAotGeneratedArtifacts;
+    }
+
     @Override
     protected void loadDefaults(LoggingInitializationContext initializationContext, LogFile logFile) {
         LoggerContext context = getLoggerContext();
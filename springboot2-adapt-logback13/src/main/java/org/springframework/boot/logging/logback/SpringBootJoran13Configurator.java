@@ -17,11 +17,15 @@
 package org.springframework.boot.logging.logback;
 
 import ch.qos.logback.classic.joran.JoranConfigurator;
+import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.joran.spi.ElementSelector;
 import ch.qos.logback.core.joran.spi.RuleStore;
 import ch.qos.logback.core.model.Model;
+import ch.qos.logback.core.model.ModelUtil;
 import ch.qos.logback.core.model.processor.DefaultProcessor;
 import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.boot.logging.logback.v13.ModelBinaryFormat;
+import org.springframework.boot.logging.logback.v13.ModelBinaryFormat.IncompatibleFormatException;
 import org.springframework.boot.logging.logback.v13.SpringProfileAction;
 import org.springframework.boot.logging.logback.v13.SpringProfileIfNestedWithinSecondPhaseElementSanityChecker;
 import org.springframework.boot.logging.logback.v13.SpringProfileModel;
@@ -29,6 +33,19 @@ import org.springframework.boot.logging.logback.v13.SpringProfileModelHandler;
 import org.springframework.boot.logging.logback.v13.SpringPropertyAction;
 import org.springframework.boot.logging.logback.v13.SpringPropertyModel;
 import org.springframework.boot.logging.logback.v13.SpringPropertyModelHandler;
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.Assert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
 
 /**
  * Extended version of the Logback {@link JoranConfigurator} that adds additional Spring
@@ -39,6 +56,10 @@ import org.springframework.boot.logging.logback.v13.SpringPropertyModelHandler;
  */
 class SpringBootJoran13Configurator extends JoranConfigurator {
 
+    private static final String MODEL_RESOURCE_LOCATION = "META-INF/spring/logback-model";
+
+    private static final String PATTERN_RULES_RESOURCE_LOCATION = "META-INF/spring/logback-pattern-rules";
+
     private final LoggingInitializationContext initializationContext;
 
     SpringBootJoran13Configurator(LoggingInitializationContext initializationContext) {
@@ -71,4 +92,107 @@ class SpringBootJoran13Configurator extends JoranConfigurator {
         super.sanityCheck(topModel);
         performCheck(new SpringProfileIfNestedWithinSecondPhaseElementSanityChecker(), topModel);
     }
+
+    static boolean hasAotGeneratedArtifacts() {
+        ClassLoader classLoader = getAotClassLoader();
+        return new ClassPathResource(PATTERN_RULES_RESOURCE_LOCATION, classLoader).exists()
+                && new ClassPathResource(MODEL_RESOURCE_LOCATION, classLoader).exists();
+    }
+
+    /**
+     * Return the class loader that every AOT generated artifact is loaded with.
+     * @return the class loader
+     */
+    private static ClassLoader getAotClassLoader() {
+        return SpringBootJoran13Configurator.class.getClassLoader();
+    }
+
+    boolean configureUsingAotGeneratedArtifacts() {
+        Model model;
+        try {
+            model = readModel();
+        } catch (IncompatibleFormatException ex) {
+            addWarn("Ignoring AOT generated model '" + MODEL_RESOURCE_LOCATION + "': " + ex.getMessage()
+                    + ". Regenerate it for the Logback version in use.");
+            return false;
+        }
+        if (model == null) {
+            addWarn("Ignoring AOT generated pattern rules as resource '" + MODEL_RESOURCE_LOCATION
+                    + "' was not found");
+            return false;
+        }
+        // Only touch the context once the model is known to be usable
+        if (!loadPatternRules()) {
+            return false;
+        }
+        processModel(model);
+        registerSafeConfiguration(model);
+        return true;
+    }
+
+    /**
+     * Write the artifacts loaded by {@link #configureUsingAotGeneratedArtifacts()} for
+     * the configuration that has just been processed by this configurator.
+     * @param outputDirectory the root directory that the resources should be written to
+     * @throws IOException on write error
+     */
+    void writeAotGeneratedArtifacts(Path outputDirectory) throws IOException {
+        Model model = recallSafeConfiguration();
+        Assert.state(model != null, "No successfully processed configuration is available");
+        write(outputDirectory.resolve(MODEL_RESOURCE_LOCATION), ModelBinaryFormat.write(model));
+        Properties properties = CollectionFactory.createSortedProperties(true);
+        getPatternRuleRegistry().forEach(properties::setProperty);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        properties.store(bytes, "");
+        write(outputDirectory.resolve(PATTERN_RULES_RESOURCE_LOCATION), bytes.toByteArray());
+    }
+
+    private void write(Path path, byte[] content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, content);
+    }
+
+    private Model readModel() throws IncompatibleFormatException {
+        ClassLoader classLoader = getAotClassLoader();
+        try (InputStream modelInput = classLoader.getResourceAsStream(MODEL_RESOURCE_LOCATION)) {
+            if (modelInput == null) {
+                return null;
+            }
+            Model model = ModelBinaryFormat.read(modelInput, classLoader);
+            ModelUtil.resetForReuse(model);
+            return model;
+        } catch (IncompatibleFormatException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new RuntimeException("Failed to load model from '" + MODEL_RESOURCE_LOCATION + "'", ex);
+        }
+    }
+
+    private boolean loadPatternRules() {
+        try {
+            ClassPathResource resource = new ClassPathResource(PATTERN_RULES_RESOURCE_LOCATION, getAotClassLoader());
+            if (!resource.exists()) {
+                return false;
+            }
+            Properties properties = PropertiesLoaderUtils.loadProperties(resource);
+            Map<String, String> patternRuleRegistry = getPatternRuleRegistry();
+            for (String word : properties.stringPropertyNames()) {
+                patternRuleRegistry.put(word, properties.getProperty(word));
+            }
+            return true;
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> getPatternRuleRegistry() {
+        Map<String, String> patternRuleRegistry =
+                (Map<String, String>) getContext().getObject(CoreConstants.PATTERN_RULE_REGISTRY);
+        if (patternRuleRegistry == null) {
+            patternRuleRegistry = new HashMap<>();
+            getContext().putObject(CoreConstants.PATTERN_RULE_REGISTRY, patternRuleRegistry);
+        }
+        return patternRuleRegistry;
+    }
 }
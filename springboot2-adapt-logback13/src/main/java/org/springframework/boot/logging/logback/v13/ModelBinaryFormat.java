@@ -0,0 +1,355 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback.v13;
+
+import ch.qos.logback.core.model.Model;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of a Joran {@link Model} tree. Fields are written by name so
+ * that a model which no longer matches the model classes on the classpath is rejected
+ * with an {@link IncompatibleFormatException} rather than failing deserialization.
+ * <p>
+ * The layout is a header ({@link #MAGIC}, {@link #VERSION}), a table of every string
+ * used by the model and then the tree itself, where each node is written as its type
+ * index, its non-null fields as {@code (name index, tag, value)} triples and its
+ * sub-models.
+ */
+public final class ModelBinaryFormat {
+
+    static final int MAGIC = 0x4C424D44;
+
+    static final int VERSION = 1;
+
+    private static final byte TAG_STRING = 1;
+
+    private static final byte TAG_INT = 2;
+
+    private static final byte TAG_BOOLEAN = 3;
+
+    private static final byte TAG_ENUM = 4;
+
+    private static final String SUB_MODELS_FIELD = "subModels";
+
+    private ModelBinaryFormat() {}
+
+    public static byte[] write(Model model) {
+        try {
+            Map<String, Integer> strings = new LinkedHashMap<>();
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            writeModel(new DataOutputStream(body), model, strings);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.size() + strings.size() * 16 + 16);
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            writeVarInt(output, strings.size());
+            for (String string : strings.keySet()) {
+                byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(output, utf8.length);
+                output.write(utf8);
+            }
+            body.writeTo(output);
+            output.flush();
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void writeModel(DataOutputStream output, Model model, Map<String, Integer> strings)
+            throws IOException {
+        writeString(output, model.getClass().getName(), strings);
+        List<Field> fields = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        ReflectionUtils.doWithFields(
+                model.getClass(),
+                field -> {
+                    ReflectionUtils.makeAccessible(field);
+                    Object value = field.get(model);
+                    if (value != null) {
+                        fields.add(field);
+                        values.add(value);
+                    }
+                },
+                ModelBinaryFormat::isEncodedField);
+        writeVarInt(output, fields.size());
+        for (int i = 0; i < fields.size(); i++) {
+            writeString(output, fields.get(i).getName(), strings);
+            writeValue(output, fields.get(i), values.get(i), strings);
+        }
+        List<Model> subModels = model.getSubModels();
+        writeVarInt(output, subModels.size());
+        for (Model subModel : subModels) {
+            writeModel(output, subModel, strings);
+        }
+    }
+
+    private static boolean isEncodedField(Field field) {
+        int modifiers = field.getModifiers();
+        return !Modifier.isStatic(modifiers)
+                && !Modifier.isTransient(modifiers)
+                && !(field.getDeclaringClass() == Model.class && SUB_MODELS_FIELD.equals(field.getName()));
+    }
+
+    private static void writeValue(DataOutputStream output, Field field, Object value, Map<String, Integer> strings)
+            throws IOException {
+        if (value instanceof String) {
+            output.writeByte(TAG_STRING);
+            writeString(output, (String) value, strings);
+        } else if (value instanceof Integer) {
+            output.writeByte(TAG_INT);
+            writeVarInt(output, (Integer) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(TAG_BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Enum<?>) {
+            output.writeByte(TAG_ENUM);
+            writeString(output, ((Enum<?>) value).name(), strings);
+        } else {
+            throw new IllegalStateException("Unsupported type " + value.getClass().getName() + " for model field "
+                    + field.getDeclaringClass().getName() + "." + field.getName());
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String string, Map<String, Integer> strings)
+            throws IOException {
+        Integer index = strings.get(string);
+        if (index == null) {
+            index = strings.size();
+            strings.put(string, index);
+        }
+        writeVarInt(output, index);
+    }
+
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    public static Model read(InputStream inputStream, ClassLoader classLoader) throws IOException {
+        return new Reader(new DataInputStream(new BufferedInputStream(inputStream)), classLoader).read();
+    }
+
+    /**
+     * Streaming reader for the binary model format. Reflective metadata is resolved once
+     * per model type.
+     */
+    private static final class Reader {
+
+        private final DataInputStream input;
+
+        private final ClassLoader classLoader;
+
+        private final Map<String, ModelType> types = new HashMap<>();
+
+        private String[] strings;
+
+        private Reader(DataInputStream input, ClassLoader classLoader) {
+            this.input = input;
+            this.classLoader = classLoader;
+        }
+
+        private Model read() throws IOException {
+            int magic = this.input.readInt();
+            if (magic != MAGIC) {
+                throw new IncompatibleFormatException("Unrecognized model format");
+            }
+            int version = this.input.readUnsignedShort();
+            if (version != VERSION) {
+                throw new IncompatibleFormatException(
+                        "Unsupported model format version " + version + " (expected " + VERSION + ")");
+            }
+            this.strings = new String[readVarInt()];
+            byte[] buffer = new byte[256];
+            for (int i = 0; i < this.strings.length; i++) {
+                int length = readVarInt();
+                if (length > buffer.length) {
+                    buffer = new byte[Math.max(length, buffer.length * 2)];
+                }
+                this.input.readFully(buffer, 0, length);
+                this.strings[i] = new String(buffer, 0, length, StandardCharsets.UTF_8);
+            }
+            return readModel();
+        }
+
+        private Model readModel() throws IOException {
+            ModelType type = getType(readString());
+            Model model = type.newInstance();
+            int fieldCount = readVarInt();
+            for (int i = 0; i < fieldCount; i++) {
+                Field field = type.getField(readString());
+                type.set(field, model, readValue(field));
+            }
+            int subModelCount = readVarInt();
+            for (int i = 0; i < subModelCount; i++) {
+                model.addSubModel(readModel());
+            }
+            return model;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object readValue(Field field) throws IOException {
+            byte tag = this.input.readByte();
+            switch (tag) {
+                case TAG_STRING:
+                    return readString();
+                case TAG_INT:
+                    return readVarInt();
+                case TAG_BOOLEAN:
+                    return this.input.readBoolean();
+                case TAG_ENUM:
+                    String name = readString();
+                    if (!field.getType().isEnum()) {
+                        throw new IncompatibleFormatException("Model field " + field + " is no longer an enum");
+                    }
+                    try {
+                        return Enum.valueOf((Class<Enum>) field.getType(), name);
+                    } catch (IllegalArgumentException ex) {
+                        throw new IncompatibleFormatException("Unknown constant " + name + " for " + field);
+                    }
+                default:
+                    throw new IncompatibleFormatException("Unknown field tag " + tag + " for " + field);
+            }
+        }
+
+        private String readString() throws IOException {
+            int index = readVarInt();
+            if (index >= this.strings.length) {
+                throw new IncompatibleFormatException("String index " + index + " out of range");
+            }
+            return this.strings[index];
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = this.input.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IncompatibleFormatException("Malformed variable-length integer");
+        }
+
+        private ModelType getType(String className) throws IncompatibleFormatException {
+            ModelType type = this.types.get(className);
+            if (type == null) {
+                type = ModelType.load(className, this.classLoader);
+                this.types.put(className, type);
+            }
+            return type;
+        }
+    }
+
+    /**
+     * Reflective metadata for a single {@link Model} type.
+     */
+    private static final class ModelType {
+
+        private final Class<? extends Model> type;
+
+        private final Constructor<? extends Model> constructor;
+
+        private final Map<String, Field> fields = new HashMap<>();
+
+        private ModelType(Class<? extends Model> type, Constructor<? extends Model> constructor) {
+            this.type = type;
+            this.constructor = constructor;
+        }
+
+        static ModelType load(String className, ClassLoader classLoader) throws IncompatibleFormatException {
+            try {
+                Class<?> type = ClassUtils.forName(className, classLoader);
+                if (!Model.class.isAssignableFrom(type)) {
+                    throw new IncompatibleFormatException(className + " is not a Model type");
+                }
+                Class<? extends Model> modelType = type.asSubclass(Model.class);
+                return new ModelType(modelType, ReflectionUtils.accessibleConstructor(modelType));
+            } catch (ClassNotFoundException | LinkageError | NoSuchMethodException ex) {
+                throw new IncompatibleFormatException("Unable to load model type " + className, ex);
+            }
+        }
+
+        Model newInstance() throws IncompatibleFormatException {
+            try {
+                return this.constructor.newInstance();
+            } catch (ReflectiveOperationException ex) {
+                throw new IncompatibleFormatException("Unable to instantiate model type " + this.type.getName(), ex);
+            }
+        }
+
+        Field getField(String name) throws IncompatibleFormatException {
+            Field field = this.fields.get(name);
+            if (field == null) {
+                field = ReflectionUtils.findField(this.type, name);
+                if (field == null || !isEncodedField(field)) {
+                    throw new IncompatibleFormatException(
+                            "Model type " + this.type.getName() + " has no field '" + name + "'");
+                }
+                ReflectionUtils.makeAccessible(field);
+                this.fields.put(name, field);
+            }
+            return field;
+        }
+
+        void set(Field field, Model model, Object value) throws IncompatibleFormatException {
+            try {
+                field.set(model, value);
+            } catch (IllegalArgumentException | IllegalAccessException ex) {
+                throw new IncompatibleFormatException("Unable to set model field " + field, ex);
+            }
+        }
+    }
+
+    /**
+     * Exception thrown when a serialized model cannot be read by the current format
+     * version or no longer matches the model types on the classpath.
+     */
+    public static final class IncompatibleFormatException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        IncompatibleFormatException(String message) {
+            super(message);
+        }
+
+        IncompatibleFormatException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -16,17 +16,32 @@
 
 package org.springframework.boot.logging;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.util.SystemPropertyUtils;
 
@@ -42,12 +57,44 @@ public abstract class AbstractLoggingSystem15 extends LoggingSystem {
     protected static final Comparator<LoggerConfiguration> CONFIGURATION_COMPARATOR = new LoggerConfigurationComparator(
             ROOT_LOGGER_NAME);
 
+    /**
+     * Location of an optional build-time index of the logging configuration files
+     * packaged with the application, one classpath location per line. When present the
+     * index is used instead of probing the class loader for every candidate location.
+     */
+    public static final String CONFIG_LOCATIONS_INDEX = "META-INF/spring/logging-config-locations.idx";
+
+    private static final Map<ClassLoader, ConfigLocations> configLocationsCache = new ConcurrentReferenceHashMap<>();
+
     private final ClassLoader classLoader;
 
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
     public AbstractLoggingSystem15(ClassLoader classLoader) {
         this.classLoader = classLoader;
     }
 
+    /**
+     * Set the {@link ApplicationStartup} used to record the steps of the logging
+     * initialization. Defaults to {@link ApplicationStartup#DEFAULT}.
+     *
+     * @param applicationStartup the application startup to use
+     */
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        Assert.notNull(applicationStartup, "ApplicationStartup must not be null");
+        this.applicationStartup = applicationStartup;
+    }
+
+    /**
+     * Return the {@link ApplicationStartup} used to record the steps of the logging
+     * initialization.
+     *
+     * @return the application startup
+     */
+    protected final ApplicationStartup getApplicationStartup() {
+        return this.applicationStartup;
+    }
+
     @Override
     public void beforeInitialize() {
     }
@@ -106,13 +153,29 @@ public abstract class AbstractLoggingSystem15 extends LoggingSystem {
     }
 
     private String findConfig(String[] locations) {
-        for (String location : locations) {
-            ClassPathResource resource = new ClassPathResource(location, this.classLoader);
-            if (resource.exists()) {
-                return "classpath:" + location;
+        StartupStep step = this.applicationStartup.start("spring.boot.logging.find-config");
+        try {
+            ConfigLocations configLocations = getConfigLocations();
+            for (String location : locations) {
+                if (configLocations.exists(location)) {
+                    step.tag("location", location);
+                    return "classpath:" + location;
+                }
             }
+            return null;
+        }
+        finally {
+            step.end();
         }
-        return null;
+    }
+
+    private ConfigLocations getConfigLocations() {
+        return configLocationsCache.computeIfAbsent(this.classLoader, (classLoader) -> {
+            ConfigLocations configLocations = ConfigLocations.load(classLoader);
+            configLocations.discover(getStandardConfigLocations());
+            configLocations.discover(getSpringConfigLocations());
+            return configLocations;
+        });
     }
 
     /**
@@ -169,6 +232,103 @@ public abstract class AbstractLoggingSystem15 extends LoggingSystem {
     protected void reinitialize(LoggingInitializationContext initializationContext) {
     }
 
+    /**
+     * Sets the logging levels of several loggers at once. The default implementation
+     * calls {@link #setLogLevel(String, LogLevel)} for each entry, subclasses may apply
+     * the levels more efficiently.
+     *
+     * @param levels the levels to set, keyed by logger name ({@code null} values remove
+     *               any custom level for the logger)
+     */
+    public void setLogLevels(Map<String, LogLevel> levels) {
+        Assert.notNull(levels, "Levels must not be null");
+        levels.forEach(this::setLogLevel);
+    }
+
+    /**
+     * Sets the logging level of a logger and all of its descendants. Custom levels of the
+     * descendants are removed so that the whole subtree uses the given level. The
+     * descendants are found with {@link #getLoggerConfigurations(String, int, int)} and
+     * the levels are applied with {@link #setLogLevels(Map)}.
+     *
+     * @param loggerName the name of the logger at the top of the subtree ({@code null}
+     *                   can be used for the root logger)
+     * @param level      the log level ({@code null} can be used to remove any custom level
+     *                   from the whole subtree)
+     */
+    public void setSubtreeLogLevel(String loggerName, LogLevel level) {
+        boolean root = !StringUtils.hasLength(loggerName) || ROOT_LOGGER_NAME.equals(loggerName);
+        Map<String, LogLevel> levels = new LinkedHashMap<>();
+        for (LoggerConfiguration configuration : getLoggerConfigurations(root ? null : loggerName, 0,
+                Integer.MAX_VALUE).getConfigurations()) {
+            if (configuration.getConfiguredLevel() != null) {
+                levels.put(configuration.getName(), null);
+            }
+        }
+        levels.put(root ? ROOT_LOGGER_NAME : loggerName, level);
+        setLogLevels(levels);
+    }
+
+    /**
+     * Returns a page of the current configuration of the loggers whose name is the given
+     * prefix or starts with the prefix followed by a {@code .} or a {@code $}. The default
+     * implementation filters {@link #getLoggerConfigurations()}.
+     *
+     * @param prefix the logger name prefix or {@code null} for all loggers, including the
+     *               root logger
+     * @param offset the position of the first configuration to return
+     * @param limit  the maximum number of configurations to return
+     * @return the page of configurations
+     */
+    public LoggerConfigurationPage getLoggerConfigurations(String prefix, int offset, int limit) {
+        Assert.isTrue(offset >= 0, "Offset must not be negative");
+        Assert.isTrue(limit >= 0, "Limit must not be negative");
+        long version = getLoggerConfigurationsVersion();
+        List<LoggerConfiguration> matching = new ArrayList<>();
+        for (LoggerConfiguration configuration : getLoggerConfigurations()) {
+            if (isInHierarchy(configuration.getName(), prefix)) {
+                matching.add(configuration);
+            }
+        }
+        List<LoggerConfiguration> page = (offset < matching.size())
+                ? matching.subList(offset, (int) Math.min(matching.size(), (long) offset + limit))
+                : Collections.emptyList();
+        return new LoggerConfigurationPage(new ArrayList<>(page), offset, matching.size(), version);
+    }
+
+    /**
+     * Returns a version of the logger configurations that changes whenever a logger is
+     * created or a level is changed, allowing callers to poll cheaply. The default
+     * implementation returns {@code -1} to indicate that changes are not tracked.
+     *
+     * @return the version or {@code -1}
+     */
+    public long getLoggerConfigurationsVersion() {
+        return -1;
+    }
+
+    /**
+     * Return whether the given logger name is the given prefix or one of its descendants.
+     * Like Logback, both {@code .} and {@code $} separate the levels of the hierarchy.
+     *
+     * @param name   the logger name
+     * @param prefix the prefix or {@code null} to match every name
+     * @return whether the name matches
+     */
+    public static boolean isInHierarchy(String name, String prefix) {
+        if (!StringUtils.hasLength(prefix)) {
+            return true;
+        }
+        if (!name.startsWith(prefix)) {
+            return false;
+        }
+        if (name.length() == prefix.length()) {
+            return true;
+        }
+        char separator = name.charAt(prefix.length());
+        return separator == '.' || separator == '$';
+    }
+
     protected final ClassLoader getClassLoader() {
         return this.classLoader;
     }
@@ -215,6 +375,60 @@ public abstract class AbstractLoggingSystem15 extends LoggingSystem {
         return null;
     }
 
+    /**
+     * The logging configuration files available from a class loader, either read from
+     * the {@link #CONFIG_LOCATIONS_INDEX index} or discovered once by probing the
+     * candidate locations.
+     */
+    private static final class ConfigLocations {
+
+        private final ClassLoader classLoader;
+
+        private final Set<String> index;
+
+        private final Map<String, Boolean> discovered = new ConcurrentHashMap<>();
+
+        private ConfigLocations(ClassLoader classLoader, Set<String> index) {
+            this.classLoader = classLoader;
+            this.index = index;
+        }
+
+        static ConfigLocations load(ClassLoader classLoader) {
+            ClassPathResource resource = new ClassPathResource(CONFIG_LOCATIONS_INDEX, classLoader);
+            if (!resource.exists()) {
+                return new ConfigLocations(classLoader, null);
+            }
+            try (InputStream inputStream = resource.getInputStream()) {
+                String content = FileCopyUtils.copyToString(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+                Set<String> index = new LinkedHashSet<>();
+                for (String line : StringUtils.tokenizeToStringArray(content, "\r\n")) {
+                    if (!line.startsWith("#")) {
+                        index.add(line);
+                    }
+                }
+                return new ConfigLocations(classLoader, Collections.unmodifiableSet(index));
+            }
+            catch (IOException ex) {
+                throw new UncheckedIOException("Unable to read " + CONFIG_LOCATIONS_INDEX, ex);
+            }
+        }
+
+        void discover(String[] locations) {
+            for (String location : locations) {
+                exists(location);
+            }
+        }
+
+        boolean exists(String location) {
+            if (this.index != null) {
+                return this.index.contains(location);
+            }
+            return this.discovered.computeIfAbsent(location,
+                    (candidate) -> new ClassPathResource(candidate, this.classLoader).exists());
+        }
+
+    }
+
     /**
      * Maintains a mapping between native levels and {@link LogLevel}.
      *
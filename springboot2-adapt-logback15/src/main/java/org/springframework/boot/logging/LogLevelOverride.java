@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import org.springframework.util.Assert;
+
+/**
+ * A log level that has been set for a limited time, after which the level that was
+ * configured before is restored.
+ */
+public final class LogLevelOverride {
+
+    private final String name;
+
+    private final LogLevel level;
+
+    private final LogLevel previousLevel;
+
+    private final Instant expiresAt;
+
+    public LogLevelOverride(String name, LogLevel level, LogLevel previousLevel, Instant expiresAt) {
+        Assert.notNull(name, "Name must not be null");
+        Assert.notNull(expiresAt, "ExpiresAt must not be null");
+        this.name = name;
+        this.level = level;
+        this.previousLevel = previousLevel;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Return the name of the logger.
+     *
+     * @return the logger name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Return the level that is in effect until the override expires.
+     *
+     * @return the level or {@code null} if the configured level has been removed
+     */
+    public LogLevel getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Return the level that is restored when the override expires.
+     *
+     * @return the previous level or {@code null} if the logger had no configured level
+     */
+    public LogLevel getPreviousLevel() {
+        return this.previousLevel;
+    }
+
+    /**
+     * Return when the override expires.
+     *
+     * @return the expiry time
+     */
+    public Instant getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        LogLevelOverride other = (LogLevelOverride) obj;
+        return this.name.equals(other.name) && this.level == other.level && this.previousLevel == other.previousLevel
+                && this.expiresAt.equals(other.expiresAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.name, this.level, this.previousLevel, this.expiresAt);
+    }
+
+    @Override
+    public String toString() {
+        return "LogLevelOverride [name=" + this.name + ", level=" + this.level + ", previousLevel="
+                + this.previousLevel + ", expiresAt=" + this.expiresAt + "]";
+    }
+
+}
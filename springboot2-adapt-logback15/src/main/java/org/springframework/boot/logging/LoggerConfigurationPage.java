@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of {@link LoggerConfiguration LoggerConfigurations}, in the order used by
+ * {@link LoggingSystem#getLoggerConfigurations()}.
+ *
+ * @see AbstractLoggingSystem15#getLoggerConfigurations(String, int, int)
+ */
+public final class LoggerConfigurationPage {
+
+    private final List<LoggerConfiguration> configurations;
+
+    private final int offset;
+
+    private final int total;
+
+    private final long version;
+
+    private final Map<String, LogLevelOverride> overrides;
+
+    public LoggerConfigurationPage(List<LoggerConfiguration> configurations, int offset, int total, long version) {
+        this(configurations, offset, total, version, Collections.emptyMap());
+    }
+
+    public LoggerConfigurationPage(List<LoggerConfiguration> configurations, int offset, int total, long version,
+                                   Map<String, LogLevelOverride> overrides) {
+        this.configurations = Collections.unmodifiableList(configurations);
+        this.offset = offset;
+        this.total = total;
+        this.version = version;
+        this.overrides = Collections.unmodifiableMap(overrides);
+    }
+
+    /**
+     * Return the configurations on this page.
+     *
+     * @return the configurations
+     */
+    public List<LoggerConfiguration> getConfigurations() {
+        return this.configurations;
+    }
+
+    /**
+     * Return the position of the first configuration of this page among all matching
+     * configurations.
+     *
+     * @return the offset
+     */
+    public int getOffset() {
+        return this.offset;
+    }
+
+    /**
+     * Return the number of matching configurations across all pages.
+     *
+     * @return the total
+     */
+    public int getTotal() {
+        return this.total;
+    }
+
+    /**
+     * Return the version of the logger configurations that this page was read from.
+     *
+     * @return the version
+     * @see AbstractLoggingSystem15#getLoggerConfigurationsVersion()
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Return the active {@link LogLevelOverride overrides} of the loggers on this page,
+     * keyed by logger name.
+     *
+     * @return the overrides
+     */
+    public Map<String, LogLevelOverride> getOverrides() {
+        return this.overrides;
+    }
+
+}
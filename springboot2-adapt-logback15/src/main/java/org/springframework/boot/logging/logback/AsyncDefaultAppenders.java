@@ -0,0 +1,192 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.status.WarnStatus;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps the {@code CONSOLE} and {@code FILE} appenders of the default configuration in
+ * an {@link AsyncAppender}, so that logging threads hand events over to a queue instead
+ * of waiting for stdout and disk I/O, or in a {@link RingBufferAsyncAppender} if the
+ * ring buffer is enabled. Only applies when no configuration file is used.
+ */
+class AsyncDefaultAppenders {
+
+    /**
+     * Property used to enable asynchronous default appenders.
+     */
+    static final String ENABLED_PROPERTY = "logging.logback.async.enabled";
+
+    /**
+     * Property used to configure the capacity of each queue.
+     */
+    static final String QUEUE_SIZE_PROPERTY = "logging.logback.async.queue-size";
+
+    /**
+     * Property used to configure the remaining capacity below which TRACE, DEBUG and INFO
+     * events are discarded. Defaults to a fifth of the queue size, {@code 0} keeps every
+     * event.
+     */
+    static final String DISCARDING_THRESHOLD_PROPERTY = "logging.logback.async.discarding-threshold";
+
+    /**
+     * Property used to drop events rather than block when a queue is full.
+     */
+    static final String NEVER_BLOCK_PROPERTY = "logging.logback.async.never-block";
+
+    /**
+     * Property used to capture caller data before an event is queued.
+     */
+    static final String INCLUDE_CALLER_DATA_PROPERTY = "logging.logback.async.include-caller-data";
+
+    /**
+     * Property used to wrap the appenders in a {@link RingBufferAsyncAppender}. The queue
+     * size is then rounded up to a power of two and the discarding threshold is ignored.
+     */
+    static final String RING_BUFFER_PROPERTY = "logging.logback.async.ring-buffer";
+
+    /**
+     * Property used to configure how the consumer of a ring buffer waits for events.
+     */
+    static final String WAIT_STRATEGY_PROPERTY = "logging.logback.async.wait-strategy";
+
+    private static final String DEFAULT_WAIT_STRATEGY = "blocking";
+
+    private final int queueSize;
+
+    private final Integer discardingThreshold;
+
+    private final boolean neverBlock;
+
+    private final boolean includeCallerData;
+
+    private final String waitStrategy;
+
+    private final List<String> invalidValues;
+
+    private AsyncDefaultAppenders(int queueSize, Integer discardingThreshold, boolean neverBlock,
+                                  boolean includeCallerData, String waitStrategy, List<String> invalidValues) {
+        this.queueSize = queueSize;
+        this.discardingThreshold = discardingThreshold;
+        this.neverBlock = neverBlock;
+        this.includeCallerData = includeCallerData;
+        this.waitStrategy = waitStrategy;
+        this.invalidValues = invalidValues;
+    }
+
+    /**
+     * Return an {@link AsyncDefaultAppenders} if asynchronous default appenders have been
+     * enabled in the given environment. Invalid values are ignored and reported as
+     * warnings once the appenders are applied.
+     * @param environment the environment or {@code null}
+     * @return the async default appenders or {@code null}
+     */
+    static AsyncDefaultAppenders get(Environment environment) {
+        if (environment == null || !environment.getProperty(ENABLED_PROPERTY, Boolean.class, false)) {
+            return null;
+        }
+        boolean ringBuffer = environment.getProperty(RING_BUFFER_PROPERTY, Boolean.class, false);
+        int defaultQueueSize = ringBuffer ? RingBufferAsyncAppender.DEFAULT_BUFFER_SIZE
+                : AsyncAppenderBase.DEFAULT_QUEUE_SIZE;
+        List<String> invalidValues = new ArrayList<>();
+        String waitStrategy = ringBuffer ? environment.getProperty(WAIT_STRATEGY_PROPERTY, DEFAULT_WAIT_STRATEGY)
+                : null;
+        if (waitStrategy != null && !RingBufferAsyncAppender.isWaitStrategy(waitStrategy)) {
+            invalidValues.add("Ignoring invalid value [" + waitStrategy + "] of " + WAIT_STRATEGY_PROPERTY);
+            waitStrategy = DEFAULT_WAIT_STRATEGY;
+        }
+        return new AsyncDefaultAppenders(
+                environment.getProperty(QUEUE_SIZE_PROPERTY, Integer.class, defaultQueueSize),
+                environment.getProperty(DISCARDING_THRESHOLD_PROPERTY, Integer.class),
+                environment.getProperty(NEVER_BLOCK_PROPERTY, Boolean.class, false),
+                environment.getProperty(INCLUDE_CALLER_DATA_PROPERTY, Boolean.class, false), waitStrategy,
+                invalidValues);
+    }
+
+    /**
+     * Replace each appender of the root logger with an asynchronous appender named
+     * {@code ASYNC_<name>} that delegates to it. An appender whose asynchronous
+     * appender fails to start, for example because of an invalid queue size, is kept and
+     * a warning is added.
+     * @param loggerContext the logger context
+     */
+    void apply(LoggerContext loggerContext) {
+        for (String invalidValue : this.invalidValues) {
+            loggerContext.getStatusManager().add(new WarnStatus(invalidValue, this));
+        }
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+        root.iteratorForAppenders().forEachRemaining(appenders::add);
+        for (Appender<ILoggingEvent> appender : appenders) {
+            Appender<ILoggingEvent> asyncAppender = (this.waitStrategy != null)
+                    ? createRingBufferAppender(loggerContext, appender) : createAsyncAppender(loggerContext, appender);
+            asyncAppender.start();
+            if (!asyncAppender.isStarted()) {
+                loggerContext.getStatusManager()
+                    .add(new WarnStatus("Unable to start " + asyncAppender.getName() + ", keeping "
+                            + appender.getName() + " synchronous", this));
+                continue;
+            }
+            if (asyncAppender instanceof RingBufferAsyncAppender
+                    && appender instanceof OutputStreamAppender<ILoggingEvent> outputStreamAppender) {
+                // Flushed once per drained batch instead
+                outputStreamAppender.setImmediateFlush(false);
+            }
+            root.detachAppender(appender);
+            root.addAppender(asyncAppender);
+        }
+    }
+
+    private Appender<ILoggingEvent> createAsyncAppender(LoggerContext loggerContext, Appender<ILoggingEvent> appender) {
+        AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(loggerContext);
+        asyncAppender.setName("ASYNC_" + appender.getName());
+        asyncAppender.setQueueSize(this.queueSize);
+        if (this.discardingThreshold != null) {
+            asyncAppender.setDiscardingThreshold(this.discardingThreshold);
+        }
+        asyncAppender.setNeverBlock(this.neverBlock);
+        asyncAppender.setIncludeCallerData(this.includeCallerData);
+        asyncAppender.addAppender(appender);
+        return asyncAppender;
+    }
+
+    private Appender<ILoggingEvent> createRingBufferAppender(LoggerContext loggerContext,
+                                                             Appender<ILoggingEvent> appender) {
+        RingBufferAsyncAppender ringBufferAppender = new RingBufferAsyncAppender();
+        ringBufferAppender.setContext(loggerContext);
+        ringBufferAppender.setName("ASYNC_" + appender.getName());
+        ringBufferAppender.setBufferSize(this.queueSize);
+        ringBufferAppender.setWaitStrategy(this.waitStrategy);
+        ringBufferAppender.setNeverBlock(this.neverBlock);
+        ringBufferAppender.setIncludeCallerData(this.includeCallerData);
+        ringBufferAppender.addAppender(appender);
+        return ringBufferAppender;
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.rolling.LengthCounter;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.util.FileUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link RollingFileAppender} that writes the direct buffers of a
+ * {@link DirectByteBufferEncoder} to a {@link FileChannel}, so that neither a
+ * {@code byte[]} nor a copy into a temporary native buffer is needed for each event.
+ * Events are formatted before the file lock is taken, and each one is written with a
+ * single {@code write} call, which makes {@code immediateFlush} irrelevant. Events that
+ * are longer than the buffer of the encoder are written in chunks, the chunks after the
+ * first one being encoded while the lock is held. With any other encoder, events are
+ * written to the channel as a stream.
+ * <p>
+ * As a file channel is closed when a thread that is writing to it is interrupted, the
+ * interrupt status of the logging thread is cleared during the write and restored
+ * afterwards, and the file is reopened if the channel was closed nonetheless.
+ * Prudent mode is not supported.
+ */
+public class ChannelRollingFileAppender extends RollingFileAppender<ILoggingEvent> {
+
+    private FileChannel channel;
+
+    @Override
+    public void start() {
+        if (isPrudent()) {
+            addError("Prudent mode is not supported by " + getClass().getSimpleName());
+            return;
+        }
+        if (!(this.encoder instanceof DirectByteBufferEncoder)) {
+            addWarn("Encoder is not a " + DirectByteBufferEncoder.class.getSimpleName()
+                    + ", events will be written as byte arrays");
+        }
+        super.start();
+    }
+
+    @Override
+    public void openFile(String fileName) throws IOException {
+        this.streamWriteLock.lock();
+        try {
+            File file = new File(fileName);
+            if (!FileUtil.createMissingParentDirectories(file)) {
+                addError("Failed to create parent directories for [" + file.getAbsolutePath() + "]");
+            }
+            this.channel = openChannel(file, this.append);
+            setOutputStream(Channels.newOutputStream(this.channel));
+        }
+        finally {
+            this.streamWriteLock.unlock();
+        }
+    }
+
+    private FileChannel openChannel(File file, boolean append) throws IOException {
+        return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    @Override
+    protected void writeOut(ILoggingEvent event) throws IOException {
+        if (!(this.encoder instanceof DirectByteBufferEncoder directEncoder)) {
+            super.writeOut(event);
+            return;
+        }
+        ByteBuffer buffer = directEncoder.encodeToBuffer(event);
+        long length = 0;
+        boolean interrupted = Thread.interrupted();
+        this.streamWriteLock.lock();
+        try {
+            while (buffer != null) {
+                length += buffer.remaining();
+                write(buffer);
+                buffer = directEncoder.nextChunk();
+            }
+        }
+        finally {
+            this.streamWriteLock.unlock();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        LengthCounter lengthCounter = getTriggeringPolicy().getLengthCounter();
+        if (lengthCounter != null) {
+            lengthCounter.add(length);
+        }
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        try {
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+        }
+        catch (ClosedByInterruptException ex) {
+            Thread.interrupted();
+            this.channel = openChannel(new File(getFile()), true);
+            setOutputStream(Channels.newOutputStream(this.channel));
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.List;
+
+/**
+ * {@link TurboFilter} that consults several filters in order, the first decision that is
+ * not {@link FilterReply#NEUTRAL neutral} wins. Combining the filters of this module
+ * keeps them out of the context's {@code TurboFilterList}, which copies its array for
+ * every event once it holds more than one filter.
+ *
+ * @see SuppressionGate
+ */
+class CompositeTurboFilter extends TurboFilter {
+
+    private final TurboFilter[] filters;
+
+    CompositeTurboFilter(List<TurboFilter> filters) {
+        this.filters = filters.toArray(new TurboFilter[0]);
+        setName("spring-boot");
+    }
+
+    @Override
+    public void setContext(Context context) {
+        super.setContext(context);
+        for (TurboFilter filter : this.filters) {
+            filter.setContext(context);
+        }
+    }
+
+    @Override
+    public void start() {
+        for (TurboFilter filter : this.filters) {
+            filter.start();
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        for (TurboFilter filter : this.filters) {
+            filter.stop();
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        for (TurboFilter filter : this.filters) {
+            FilterReply reply = filter.decide(marker, logger, level, format, params, t);
+            if (reply != FilterReply.NEUTRAL) {
+                return reply;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+}
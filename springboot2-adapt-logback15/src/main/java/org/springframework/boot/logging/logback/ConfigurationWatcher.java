@@ -0,0 +1,215 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.status.WarnStatus;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Watches a file-based Logback configuration for changes using a {@link WatchService}
+ * rather than Logback's polling {@code scan} attribute. Bursts of events, as produced by
+ * editors that save a file in several steps, are coalesced and the callback is only
+ * invoked once the file has been quiet for the configured debounce period and its
+ * content has actually changed.
+ *
+ * @see IncrementalReconfigurer
+ */
+class ConfigurationWatcher extends ContextAwareBase implements Closeable {
+
+    /**
+     * Property used to enable watching the configuration file.
+     */
+    static final String ENABLED_PROPERTY = "logging.logback.hot-reload.enabled";
+
+    /**
+     * Property used to configure how long the file must be quiet before it is reloaded.
+     */
+    static final String DEBOUNCE_PROPERTY = "logging.logback.hot-reload.debounce";
+
+    private static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(500);
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    private final Path file;
+
+    private final Duration debounce;
+
+    private final Runnable callback;
+
+    private final WatchService watchService;
+
+    private byte[] digest;
+
+    private ConfigurationWatcher(Context context, Path file, Duration debounce, Runnable callback)
+            throws IOException {
+        setContext(context);
+        this.file = file;
+        this.debounce = debounce;
+        this.callback = callback;
+        this.digest = digest();
+        this.watchService = file.getFileSystem().newWatchService();
+        try {
+            file.getParent()
+                .register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+        catch (IOException ex) {
+            this.watchService.close();
+            throw ex;
+        }
+        Thread thread = new Thread(this::watch, "logback-configuration-watcher-" + THREAD_NUMBER.incrementAndGet());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Start watching the configuration at the given URL if hot reload has been enabled in
+     * the given environment and the configuration is a file.
+     * @param context the logback context
+     * @param environment the environment or {@code null}
+     * @param url the configuration location
+     * @param callback the callback to invoke when the configuration has changed
+     * @return the watcher or {@code null}
+     */
+    static ConfigurationWatcher start(Context context, Environment environment, URL url, Runnable callback) {
+        if (environment == null || !environment.getProperty(ENABLED_PROPERTY, Boolean.class, false)) {
+            return null;
+        }
+        Path file = getFile(url);
+        if (file == null) {
+            context.getStatusManager()
+                .add(new WarnStatus("Unable to watch " + url + " for changes as it is not a file",
+                        ConfigurationWatcher.class));
+            return null;
+        }
+        String debounceValue = environment.getProperty(DEBOUNCE_PROPERTY);
+        Duration debounce = StringUtils.hasText(debounceValue) ? DurationStyle.detectAndParse(debounceValue)
+                : DEFAULT_DEBOUNCE;
+        try {
+            return new ConfigurationWatcher(context, file, debounce, callback);
+        }
+        catch (IOException ex) {
+            context.getStatusManager()
+                .add(new WarnStatus("Unable to watch " + file + " for changes", ConfigurationWatcher.class, ex));
+            return null;
+        }
+    }
+
+    private static Path getFile(URL url) {
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            Path file = Paths.get(url.toURI()).toAbsolutePath();
+            return (file.getFileSystem() == FileSystems.getDefault() && Files.isRegularFile(file)) ? file : null;
+        }
+        catch (URISyntaxException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = this.watchService.take();
+                boolean changed = pollEvents(key);
+                while (changed && (key = this.watchService.poll(this.debounce.toMillis(),
+                        TimeUnit.MILLISECONDS)) != null) {
+                    pollEvents(key);
+                }
+                if (changed) {
+                    reloadIfContentChanged();
+                }
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ClosedWatchServiceException ex) {
+            // Stopped
+        }
+    }
+
+    private boolean pollEvents(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path path && path.equals(this.file.getFileName())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    private void reloadIfContentChanged() {
+        byte[] digest = digest();
+        if (digest == null || Arrays.equals(digest, this.digest)) {
+            return;
+        }
+        this.digest = digest;
+        addInfo("Detected change in " + this.file);
+        try {
+            this.callback.run();
+        }
+        catch (Throwable ex) {
+            addError("Failed to reload " + this.file, ex);
+        }
+    }
+
+    private byte[] digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(this.file));
+        }
+        catch (IOException | NoSuchAlgorithmException ex) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.watchService.close();
+        }
+        catch (IOException ex) {
+            addWarn("Unable to stop watching " + this.file, ex);
+        }
+    }
+
+}
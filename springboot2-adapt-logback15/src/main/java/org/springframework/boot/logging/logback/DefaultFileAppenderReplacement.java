@@ -0,0 +1,157 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.rolling.RollingPolicy;
+import ch.qos.logback.core.rolling.TriggeringPolicy;
+import org.springframework.core.env.Environment;
+
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Replaces the {@code FILE} appender of the default configuration with a
+ * {@link MappedRollingFileAppender}, a {@link ChannelRollingFileAppender} or a
+ * {@link GroupCommitRollingFileAppender} that uses the same file, encoder and rolling
+ * policy. Only applies when no configuration file is used. The original appender is
+ * never started, see {@link #replaces}, so the file is opened and its history cleaned
+ * only once.
+ */
+class DefaultFileAppenderReplacement {
+
+    /**
+     * Property used to write the default log file through memory-mapped windows.
+     */
+    static final String MEMORY_MAPPED_PROPERTY = "logging.logback.file.memory-mapped";
+
+    /**
+     * Property used to format events of the default log file into direct buffers that are
+     * written to a file channel.
+     */
+    static final String DIRECT_BUFFER_PROPERTY = "logging.logback.file.direct-buffer";
+
+    /**
+     * Property used to flush the default log file at most at the given interval.
+     */
+    static final String FLUSH_INTERVAL_PROPERTY = "logging.logback.file.flush-interval";
+
+    /**
+     * Property used to flush the default log file once the given size is buffered.
+     */
+    static final String FLUSH_BYTES_PROPERTY = "logging.logback.file.flush-bytes";
+
+    private static final String FILE_APPENDER_NAME = "FILE";
+
+    private final Supplier<RollingFileAppender<ILoggingEvent>> appenderFactory;
+
+    private final UnaryOperator<Encoder<ILoggingEvent>> encoderAdapter;
+
+    private DefaultFileAppenderReplacement(Supplier<RollingFileAppender<ILoggingEvent>> appenderFactory,
+                                           UnaryOperator<Encoder<ILoggingEvent>> encoderAdapter) {
+        this.appenderFactory = appenderFactory;
+        this.encoderAdapter = encoderAdapter;
+    }
+
+    /**
+     * Return a {@link DefaultFileAppenderReplacement} if memory-mapped writing, direct
+     * buffers or group commit have been enabled in the given environment, in that order
+     * of precedence, as group commit has no effect on the other two.
+     * @param environment the environment or {@code null}
+     * @return the default file appender replacement or {@code null}
+     */
+    static DefaultFileAppenderReplacement get(Environment environment) {
+        if (environment == null) {
+            return null;
+        }
+        if (environment.getProperty(MEMORY_MAPPED_PROPERTY, Boolean.class, false)) {
+            return new DefaultFileAppenderReplacement(MappedRollingFileAppender::new, UnaryOperator.identity());
+        }
+        if (environment.getProperty(DIRECT_BUFFER_PROPERTY, Boolean.class, false)) {
+            return new DefaultFileAppenderReplacement(ChannelRollingFileAppender::new,
+                    DefaultFileAppenderReplacement::directByteBufferEncoder);
+        }
+        if (environment.containsProperty(FLUSH_INTERVAL_PROPERTY) || environment.containsProperty(FLUSH_BYTES_PROPERTY)) {
+            // Settings are read from the LOGBACK_FILE_FLUSH_* context properties
+            return new DefaultFileAppenderReplacement(GroupCommitRollingFileAppender::new, UnaryOperator.identity());
+        }
+        return null;
+    }
+
+    /**
+     * Return whether the given appender is going to be replaced and should therefore be
+     * configured but not started.
+     * @param name the name of the appender
+     * @param appender the appender
+     * @return whether the appender is going to be replaced
+     */
+    boolean replaces(String name, Appender<?> appender) {
+        return FILE_APPENDER_NAME.equals(name) && appender instanceof RollingFileAppender;
+    }
+
+    /**
+     * Replace the {@code FILE} appender of the root logger, if any, taking over its
+     * encoder and its already started rolling and triggering policies.
+     * @param loggerContext the logger context
+     */
+    void apply(LoggerContext loggerContext) {
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        Appender<ILoggingEvent> appender = root.getAppender(FILE_APPENDER_NAME);
+        if (!(appender instanceof RollingFileAppender<ILoggingEvent> fileAppender)) {
+            return;
+        }
+        String file = fileAppender.getFile();
+        RollingPolicy rollingPolicy = fileAppender.getRollingPolicy();
+        TriggeringPolicy<ILoggingEvent> triggeringPolicy = fileAppender.getTriggeringPolicy();
+        if (fileAppender.isStarted() || rollingPolicy == null || triggeringPolicy == null) {
+            throw new IllegalStateException("Unable to replace the default '" + FILE_APPENDER_NAME + "' appender of "
+                    + file + ", it must be configured with a rolling and a triggering policy and must not be started");
+        }
+        RollingFileAppender<ILoggingEvent> replacement = this.appenderFactory.get();
+        replacement.setContext(loggerContext);
+        replacement.setName(FILE_APPENDER_NAME);
+        replacement.setEncoder(this.encoderAdapter.apply(fileAppender.getEncoder()));
+        replacement.setFile(file);
+        replacement.setRollingPolicy(rollingPolicy);
+        if (triggeringPolicy != rollingPolicy) {
+            replacement.setTriggeringPolicy(triggeringPolicy);
+        }
+        rollingPolicy.setParent(replacement);
+        replacement.start();
+        root.detachAppender(fileAppender);
+        root.addAppender(replacement);
+    }
+
+    private static Encoder<ILoggingEvent> directByteBufferEncoder(Encoder<ILoggingEvent> encoder) {
+        if (!(encoder instanceof PatternLayoutEncoder patternEncoder)) {
+            return encoder;
+        }
+        DirectByteBufferEncoder directEncoder = new DirectByteBufferEncoder();
+        directEncoder.setContext(patternEncoder.getContext());
+        directEncoder.setPattern(patternEncoder.getPattern());
+        directEncoder.setCharset(patternEncoder.getCharset());
+        directEncoder.start();
+        return directEncoder;
+    }
+
+}
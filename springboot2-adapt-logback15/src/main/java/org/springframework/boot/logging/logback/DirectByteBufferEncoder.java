@@ -0,0 +1,232 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.pattern.EnsureExceptionHandling;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.pattern.Converter;
+import ch.qos.logback.core.pattern.ConverterUtil;
+import ch.qos.logback.core.pattern.parser.Parser;
+import ch.qos.logback.core.spi.ScanException;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link PatternLayoutEncoder} that can also format an event into a direct
+ * {@link ByteBuffer} that belongs to the calling thread and is reused for its next
+ * event, for {@link ChannelRollingFileAppender} to write to its file channel. Unlike
+ * {@link #encode}, which creates a {@code String} and a {@code byte[]} for each event,
+ * the converters write to a reused {@code StringBuilder} whose characters are encoded
+ * into the buffer, so that formatting an event only allocates what the converters
+ * themselves allocate. Events that only contain ASCII characters are copied to the buffer
+ * directly when the charset is ASCII compatible, others go through a reused
+ * {@link CharsetEncoder}.
+ * <p>
+ * Each thread keeps buffers as large as the longest event it has formatted, up to 8192
+ * characters. Longer events, such as large stack traces, are encoded through the same
+ * buffers in {@link #nextChunk() chunks} of 8192 characters, so that they allocate no
+ * direct memory. A {@code StringBuilder} that such an event grew beyond 65536 characters
+ * is replaced by a small one once the event has been encoded.
+ */
+public class DirectByteBufferEncoder extends PatternLayoutEncoder {
+
+    private Converter<ILoggingEvent> head;
+
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private volatile ThreadLocal<Buffers> buffers;
+
+    @Override
+    public void start() {
+        super.start();
+        if (!isStarted()) {
+            return;
+        }
+        try {
+            Parser<ILoggingEvent> parser = new Parser<>(getPattern());
+            parser.setContext(getContext());
+            Converter<ILoggingEvent> head = parser.compile(parser.parse(),
+                    ((PatternLayout) getLayout()).getEffectiveConverterMap());
+            new EnsureExceptionHandling().process(getContext(), head);
+            ConverterUtil.setContextForConverters(getContext(), head);
+            ConverterUtil.startConverters(head);
+            this.head = head;
+        }
+        catch (ScanException ex) {
+            addError("Failed to parse pattern [" + getPattern() + "]", ex);
+            stop();
+            return;
+        }
+        Charset charset = (getCharset() != null) ? getCharset() : Charset.defaultCharset();
+        this.buffers = ThreadLocal.withInitial(() -> new Buffers(charset));
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        ThreadLocal<Buffers> buffers = this.buffers;
+        this.buffers = null;
+        if (buffers != null) {
+            buffers.remove();
+        }
+    }
+
+    /**
+     * Format the given event into the buffer of the calling thread. If the event is
+     * longer than the buffer, only its first chunk is encoded, and the others have to be
+     * read with {@link #nextChunk()}.
+     * @param event the event
+     * @return the buffer, ready to be read until the thread formats another event or
+     * reads the next chunk, or an empty buffer if the encoder has been stopped
+     */
+    ByteBuffer encodeToBuffer(ILoggingEvent event) {
+        ThreadLocal<Buffers> threadBuffers = this.buffers;
+        if (threadBuffers == null) {
+            return EMPTY;
+        }
+        Buffers buffers = threadBuffers.get();
+        StringBuilder builder = buffers.builder;
+        builder.setLength(0);
+        for (Converter<ILoggingEvent> converter = this.head; converter != null; converter = converter.getNext()) {
+            converter.write(builder, event);
+        }
+        return buffers.encode();
+    }
+
+    /**
+     * Encode the next chunk of the event that the calling thread has formatted last into
+     * its buffer.
+     * @return the buffer, ready to be read until the thread formats another event or
+     * reads the next chunk, or {@code null} if the whole event has been encoded
+     */
+    ByteBuffer nextChunk() {
+        ThreadLocal<Buffers> threadBuffers = this.buffers;
+        return (threadBuffers != null) ? threadBuffers.get().nextChunk() : null;
+    }
+
+    private static final class Buffers {
+
+        private static final int INITIAL_CAPACITY = 512;
+
+        private static final int MAX_RETAINED_CAPACITY = 8192;
+
+        private static final int MAX_RETAINED_BUILDER_CAPACITY = 65536;
+
+        private StringBuilder builder = new StringBuilder(INITIAL_CAPACITY);
+
+        private final CharsetEncoder encoder;
+
+        private final boolean asciiCompatible;
+
+        private char[] chars = new char[INITIAL_CAPACITY];
+
+        private byte[] ascii = new byte[INITIAL_CAPACITY];
+
+        private CharBuffer charBuffer = CharBuffer.wrap(this.chars);
+
+        private ByteBuffer bytes;
+
+        private int offset;
+
+        private Buffers(Charset charset) {
+            this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.asciiCompatible = charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+                    || charset.equals(StandardCharsets.ISO_8859_1);
+            this.bytes = ByteBuffer.allocateDirect(maxBytes(INITIAL_CAPACITY));
+        }
+
+        private ByteBuffer encode() {
+            int length = this.builder.length();
+            ensureCapacity(Math.min(length, MAX_RETAINED_CAPACITY));
+            this.encoder.reset();
+            this.offset = 0;
+            ByteBuffer chunk = nextChunk();
+            return (chunk != null) ? chunk : this.bytes.clear().flip();
+        }
+
+        private ByteBuffer nextChunk() {
+            int length = this.builder.length();
+            if (this.offset >= length) {
+                return null;
+            }
+            int end = Math.min(length, this.offset + this.chars.length);
+            if (end < length && Character.isHighSurrogate(this.builder.charAt(end - 1))) {
+                // Keep surrogate pairs in the same chunk
+                end--;
+            }
+            int count = end - this.offset;
+            this.builder.getChars(this.offset, end, this.chars, 0);
+            this.offset = end;
+            boolean endOfInput = (end == length);
+            if (endOfInput && this.builder.capacity() > MAX_RETAINED_BUILDER_CAPACITY) {
+                this.builder = new StringBuilder(INITIAL_CAPACITY);
+            }
+            this.bytes.clear();
+            if (this.asciiCompatible && copyAscii(count)) {
+                return this.bytes.flip();
+            }
+            this.charBuffer.clear().limit(count);
+            // Cannot overflow as the buffer fits the longest encoding of the characters
+            this.encoder.encode(this.charBuffer, this.bytes, endOfInput);
+            if (endOfInput) {
+                this.encoder.flush(this.bytes);
+            }
+            return this.bytes.flip();
+        }
+
+        private void ensureCapacity(int length) {
+            if (length > this.chars.length) {
+                this.chars = new char[Math.min(Math.max(length, this.chars.length * 2), MAX_RETAINED_CAPACITY)];
+                this.ascii = new byte[this.chars.length];
+                this.charBuffer = CharBuffer.wrap(this.chars);
+            }
+            int maxBytes = maxBytes(this.chars.length);
+            if (maxBytes > this.bytes.capacity()) {
+                this.bytes = ByteBuffer.allocateDirect(maxBytes);
+            }
+        }
+
+        private boolean copyAscii(int length) {
+            char[] chars = this.chars;
+            byte[] ascii = this.ascii;
+            for (int i = 0; i < length; i++) {
+                char ch = chars[i];
+                if (ch >= 0x80) {
+                    return false;
+                }
+                ascii[i] = (byte) ch;
+            }
+            this.bytes.put(ascii, 0, length);
+            return true;
+        }
+
+        private int maxBytes(int chars) {
+            return (int) Math.ceil(chars * (double) this.encoder.maxBytesPerChar());
+        }
+
+    }
+
+}
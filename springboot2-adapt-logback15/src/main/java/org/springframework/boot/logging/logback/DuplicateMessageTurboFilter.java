@@ -0,0 +1,163 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.DuplicateMessageFilter;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@link TurboFilter} that denies events once their message template has been logged
+ * more than the allowed number of times, like Logback's {@link DuplicateMessageFilter}
+ * but without its synchronized cache.
+ * <p>
+ * Templates are kept in a fixed-size, 4-way set-associative table of slots that are
+ * read and replaced atomically. A hit only writes when the template is still allowed, so
+ * a template that is being suppressed is denied after plain reads. On a miss the least
+ * recently used slot of the set is approximated with a reference bit (the clock
+ * algorithm) and replaced with a compare-and-set. Concurrent misses for the same
+ * template may briefly count it in two slots, which can only let a few more repetitions
+ * through. Only events that are enabled by level are counted.
+ */
+class DuplicateMessageTurboFilter extends TurboFilter {
+
+    /**
+     * Property used to enable duplicate message suppression.
+     */
+    static final String ENABLED_PROPERTY = "logging.logback.duplicate-filter.enabled";
+
+    /**
+     * Property used to configure how many times a message template may be repeated.
+     */
+    static final String ALLOWED_REPETITIONS_PROPERTY = "logging.logback.duplicate-filter.allowed-repetitions";
+
+    /**
+     * Property used to configure how many message templates are remembered.
+     */
+    static final String CACHE_SIZE_PROPERTY = "logging.logback.duplicate-filter.cache-size";
+
+    private static final int WAYS = 4;
+
+    private final int allowedRepetitions;
+
+    private final AtomicReferenceArray<Slot> slots;
+
+    private final int setMask;
+
+    private DuplicateMessageTurboFilter(int allowedRepetitions, int cacheSize) {
+        int sets = Math.max(1, Integer.highestOneBit(Math.max(cacheSize, WAYS) * 2 - 1) / WAYS);
+        this.allowedRepetitions = allowedRepetitions;
+        this.slots = new AtomicReferenceArray<>(sets * WAYS);
+        this.setMask = sets - 1;
+        setName("duplicate-message");
+    }
+
+    /**
+     * Return a {@link DuplicateMessageTurboFilter} if duplicate message suppression has
+     * been enabled in the given environment.
+     * @param environment the environment or {@code null}
+     * @return the filter or {@code null}
+     */
+    static DuplicateMessageTurboFilter get(Environment environment) {
+        if (environment == null || !environment.getProperty(ENABLED_PROPERTY, Boolean.class, false)) {
+            return null;
+        }
+        int allowedRepetitions = environment.getProperty(ALLOWED_REPETITIONS_PROPERTY, Integer.class,
+                DuplicateMessageFilter.DEFAULT_ALLOWED_REPETITIONS);
+        int cacheSize = environment.getProperty(CACHE_SIZE_PROPERTY, Integer.class,
+                DuplicateMessageFilter.DEFAULT_CACHE_SIZE);
+        return new DuplicateMessageTurboFilter(allowedRepetitions, cacheSize);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (format == null || level == null || level.levelInt < logger.getEffectiveLevel().levelInt) {
+            return FilterReply.NEUTRAL;
+        }
+        int base = (((format.hashCode() * 0x9E3779B9) >>> 16) & this.setMask) * WAYS;
+        for (int i = 0; i < WAYS; i++) {
+            Slot slot = this.slots.get(base + i);
+            if (slot != null && (slot.format == format || slot.format.equals(format))) {
+                return slot.occurred() ? FilterReply.NEUTRAL : FilterReply.DENY;
+            }
+        }
+        insert(base, format);
+        return FilterReply.NEUTRAL;
+    }
+
+    private void insert(int base, String format) {
+        int index = findVictim(base);
+        Slot existing = this.slots.get(index);
+        this.slots.compareAndSet(index, existing, new Slot(format));
+    }
+
+    private int findVictim(int base) {
+        for (int i = 0; i < WAYS; i++) {
+            if (this.slots.get(base + i) == null) {
+                return base + i;
+            }
+        }
+        for (int i = 0; i < WAYS; i++) {
+            Slot slot = this.slots.get(base + i);
+            if (slot != null && !slot.referenced) {
+                return base + i;
+            }
+            if (slot != null) {
+                slot.referenced = false;
+            }
+        }
+        return base;
+    }
+
+    private final class Slot {
+
+        private final String format;
+
+        private final AtomicInteger count = new AtomicInteger(1);
+
+        private volatile boolean referenced = true;
+
+        private Slot(String format) {
+            this.format = format;
+        }
+
+        /**
+         * Record another occurrence of the template.
+         * @return whether the occurrence is allowed
+         */
+        private boolean occurred() {
+            if (!this.referenced) {
+                this.referenced = true;
+            }
+            int count = this.count.get();
+            if (count > DuplicateMessageTurboFilter.this.allowedRepetitions) {
+                return false;
+            }
+            return this.count.incrementAndGet() <= DuplicateMessageTurboFilter.this.allowedRepetitions + 1;
+        }
+
+    }
+
+}
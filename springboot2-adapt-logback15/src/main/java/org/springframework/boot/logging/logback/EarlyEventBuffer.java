@@ -0,0 +1,173 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.CallerData;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded ring buffer of the events that are logged before logging has been initialized,
+ * including the events that SLF4J replays once it has finished binding, so that they can
+ * be passed to the configured appenders afterwards. When the buffer is full the oldest
+ * events are overwritten and counted as overflow.
+ * <p>
+ * As it is needed before the {@link org.springframework.core.env.Environment} exists,
+ * the buffer is enabled with a system property. Only events at {@link Level#INFO} or
+ * above are captured, and they are only replayed if their logger is enabled for them
+ * once configured. Capturing an event claims a slot with a single atomic increment.
+ *
+ * @see SuppressionGate
+ */
+class EarlyEventBuffer {
+
+    /**
+     * System property used to enable the buffer and configure how many events it holds.
+     */
+    static final String SIZE_PROPERTY = "logging.logback.early-events.buffer-size";
+
+    private static final String FQCN = EarlyEventBuffer.class.getName();
+
+    private final AtomicReferenceArray<Captured> events;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private EarlyEventBuffer(int size) {
+        this.events = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Return an {@link EarlyEventBuffer} if one has been enabled with the
+     * {@value #SIZE_PROPERTY} system property.
+     * @return the buffer or {@code null}
+     */
+    static EarlyEventBuffer get() {
+        String size = System.getProperty(SIZE_PROPERTY);
+        if (size == null) {
+            return null;
+        }
+        try {
+            int capacity = Integer.parseInt(size.trim());
+            return (capacity > 0) ? new EarlyEventBuffer(capacity) : null;
+        }
+        catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Capture the given event if it is a logging call at {@link Level#INFO} or above.
+     * @param marker the marker
+     * @param logger the logger
+     * @param level the level
+     * @param format the message format or {@code null} for a level check
+     * @param params the parameters
+     * @param t the throwable
+     */
+    void capture(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level == null || level.levelInt < Level.INFO_INT) {
+            return;
+        }
+        Captured captured = new Captured(marker, logger, level, format, params, t);
+        long index = this.sequence.getAndIncrement();
+        this.events.set((int) (index % this.events.length()), captured);
+    }
+
+    /**
+     * Pass the captured events, oldest first, to the appenders of their logger.
+     * @return the number of events that their logger was enabled for and that have been
+     * passed to its appenders
+     */
+    long replay() {
+        long end = this.sequence.get();
+        long start = Math.max(0, end - this.events.length());
+        long replayed = 0;
+        for (long index = start; index < end; index++) {
+            Captured captured = this.events.getAndSet((int) (index % this.events.length()), null);
+            if (captured != null && captured.replay()) {
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Return the number of events that have been overwritten when the buffer was full.
+     * @return the number of overwritten events
+     */
+    long getOverflow() {
+        return Math.max(0, this.sequence.get() - this.events.length());
+    }
+
+    private static final class Captured {
+
+        private final Marker marker;
+
+        private final Logger logger;
+
+        private final Level level;
+
+        private final String format;
+
+        private final Object[] params;
+
+        private final Throwable throwable;
+
+        private final long timeStamp = System.currentTimeMillis();
+
+        private final String threadName = Thread.currentThread().getName();
+
+        private final Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+        private Captured(Marker marker, Logger logger, Level level, String format, Object[] params,
+                         Throwable throwable) {
+            this.marker = marker;
+            this.logger = logger;
+            this.level = level;
+            this.format = format;
+            this.params = params;
+            this.throwable = throwable;
+        }
+
+        private boolean replay() {
+            if (this.level.levelInt < this.logger.getEffectiveLevel().levelInt) {
+                return false;
+            }
+            LoggingEvent event = new LoggingEvent(FQCN, this.logger, this.level, this.format, this.throwable,
+                    this.params);
+            event.setTimeStamp(this.timeStamp);
+            event.setThreadName(this.threadName);
+            event.setCallerData(CallerData.EMPTY_CALLER_DATA_ARRAY);
+            event.setMDCPropertyMap((this.mdc != null) ? this.mdc : Collections.emptyMap());
+            if (this.marker != null) {
+                event.addMarker(this.marker);
+            }
+            this.logger.callAppenders(event);
+            return true;
+        }
+
+    }
+
+}
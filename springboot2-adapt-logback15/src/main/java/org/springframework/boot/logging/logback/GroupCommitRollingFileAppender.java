@@ -0,0 +1,168 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.util.Duration;
+import ch.qos.logback.core.util.FileSize;
+import ch.qos.logback.core.util.OptionHelper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@link RollingFileAppender} that flushes the log file for a group of events rather
+ * than for each event. Once a {@link #setFlushInterval flush interval} or a
+ * {@link #setFlushBytes number of bytes} is configured, events are buffered and the file
+ * is flushed when the interval has elapsed or the number of bytes has been buffered,
+ * whichever comes first. {@link Level#ERROR} events and stopping the appender always
+ * flush. Without either setting the appender flushes every event, like its superclass.
+ * <p>
+ * The settings default to the {@value LogbackLoggingSystem15Properties#FILE_FLUSH_INTERVAL}
+ * and {@value LogbackLoggingSystem15Properties#FILE_FLUSH_BYTES} properties, which are
+ * set from {@code logging.logback.file.flush-interval} and
+ * {@code logging.logback.file.flush-bytes}.
+ */
+public class GroupCommitRollingFileAppender extends RollingFileAppender<ILoggingEvent> {
+
+    private Duration flushInterval;
+
+    private FileSize flushBytes;
+
+    private long flushThreshold;
+
+    private volatile long unflushedBytes;
+
+    private boolean groupCommit;
+
+    private ScheduledFuture<?> flushTask;
+
+    @Override
+    public void start() {
+        Duration flushInterval = (this.flushInterval != null) ? this.flushInterval
+                : lookup(LogbackLoggingSystem15Properties.FILE_FLUSH_INTERVAL, Duration::valueOf);
+        FileSize flushBytes = (this.flushBytes != null) ? this.flushBytes
+                : lookup(LogbackLoggingSystem15Properties.FILE_FLUSH_BYTES, FileSize::valueOf);
+        long intervalMillis = (flushInterval != null) ? flushInterval.getMilliseconds() : 0;
+        this.flushThreshold = (flushBytes != null && flushBytes.getSize() > 0) ? flushBytes.getSize() : Long.MAX_VALUE;
+        this.groupCommit = intervalMillis > 0 || this.flushThreshold != Long.MAX_VALUE;
+        if (this.groupCommit) {
+            setImmediateFlush(false);
+            if (this.flushThreshold != Long.MAX_VALUE && this.flushThreshold > FileAppender.DEFAULT_BUFFER_SIZE) {
+                // Keep the stream from writing out before the threshold is reached
+                setBufferSize(new FileSize(Math.min(this.flushThreshold, Integer.MAX_VALUE - 8)));
+            }
+        }
+        super.start();
+        if (isStarted() && intervalMillis > 0) {
+            this.flushTask = getContext().getScheduledExecutorService()
+                .scheduleAtFixedRate(this::flushIfNecessary, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+            getContext().addScheduledFuture(this.flushTask);
+        }
+    }
+
+    private <T> T lookup(String name, Function<String, T> parser) {
+        String value = OptionHelper.propertyLookup(name, getContext(), null);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        }
+        catch (IllegalArgumentException ex) {
+            addWarn("Ignoring invalid value [" + value + "] of " + name);
+            return null;
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (this.flushTask != null) {
+            this.flushTask.cancel(false);
+            this.flushTask = null;
+        }
+        super.stop();
+    }
+
+    @Override
+    protected void writeOut(ILoggingEvent event) throws IOException {
+        super.writeOut(event);
+        if (this.groupCommit && (event.getLevel().toInt() >= Level.ERROR_INT
+                || this.unflushedBytes >= this.flushThreshold)) {
+            flushIfNecessary();
+        }
+    }
+
+    @Override
+    protected void updateByteCount(byte[] byteArray) {
+        super.updateByteCount(byteArray);
+        if (byteArray != null) {
+            this.unflushedBytes += byteArray.length;
+        }
+    }
+
+    private void flushIfNecessary() {
+        if (this.unflushedBytes == 0) {
+            return;
+        }
+        this.streamWriteLock.lock();
+        try {
+            OutputStream outputStream = getOutputStream();
+            if (outputStream != null) {
+                outputStream.flush();
+            }
+            this.unflushedBytes = 0;
+        }
+        catch (IOException ex) {
+            addError("Failed to flush file [" + getFile() + "]", ex);
+        }
+        finally {
+            this.streamWriteLock.unlock();
+        }
+    }
+
+    /**
+     * Set the maximum time that events may stay buffered.
+     * @param flushInterval the flush interval
+     */
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public Duration getFlushInterval() {
+        return this.flushInterval;
+    }
+
+    /**
+     * Set the number of buffered bytes after which the file is flushed.
+     * @param flushBytes the flush threshold
+     */
+    public void setFlushBytes(FileSize flushBytes) {
+        this.flushBytes = flushBytes;
+    }
+
+    public FileSize getFlushBytes() {
+        return this.flushBytes;
+    }
+
+}
@@ -0,0 +1,458 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.model.ConfigurationModel;
+import ch.qos.logback.classic.model.LoggerModel;
+import ch.qos.logback.classic.model.RootLoggerModel;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.joran.JoranConstants;
+import ch.qos.logback.core.joran.spi.JoranException;
+import ch.qos.logback.core.model.AppenderModel;
+import ch.qos.logback.core.model.ConversionRuleModel;
+import ch.qos.logback.core.model.DefineModel;
+import ch.qos.logback.core.model.ImportModel;
+import ch.qos.logback.core.model.Model;
+import ch.qos.logback.core.model.PropertyModel;
+import ch.qos.logback.core.model.TimestampModel;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.status.Status;
+import ch.qos.logback.core.status.StatusUtil;
+import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Applies a changed Logback configuration by restarting only the appenders and loggers
+ * whose definition changed. The new {@link Model} tree is compared with the one that is
+ * currently applied: appenders and loggers are matched by name, while any change to
+ * another top-level element, such as a {@code <property>} or a {@code <springProfile>}
+ * block, requires a full reconfiguration.
+ * <p>
+ * Changed appenders are detached from the loggers and appenders that reference them and
+ * stopped, the changed definitions are processed together with the variable definitions
+ * they may depend on, and the new appenders are attached where the old ones were.
+ * Appenders that did not change keep running throughout.
+ *
+ * @see ConfigurationWatcher
+ */
+class IncrementalReconfigurer extends ContextAwareBase {
+
+    private static final Set<Class<? extends Model>> VARIABLE_DEFINITION_TYPES = Set.of(PropertyModel.class,
+            SpringPropertyModel.class, DefineModel.class, TimestampModel.class, ImportModel.class,
+            ConversionRuleModel.class);
+
+    private static final String ROOT_KEY = "root";
+
+    private final LoggerContext loggerContext;
+
+    private final LoggingInitializationContext initializationContext;
+
+    private final URL url;
+
+    private Model appliedModel;
+
+    IncrementalReconfigurer(LoggerContext loggerContext, LoggingInitializationContext initializationContext, URL url) {
+        setContext(loggerContext);
+        this.loggerContext = loggerContext;
+        this.initializationContext = initializationContext;
+        this.url = url;
+    }
+
+    /**
+     * Parse the configuration without applying it.
+     * @return the parsed model or {@code null} if the configuration could not be parsed
+     */
+    Model parse() {
+        long threshold = System.currentTimeMillis();
+        SpringBootJoran15Configurator configurator = new SpringBootJoran15Configurator(this.initializationContext);
+        configurator.setContext(this.loggerContext);
+        try {
+            Model model = configurator.buildModel(this.url);
+            if (model == null || new StatusUtil(this.loggerContext).getHighestLevel(threshold) >= Status.ERROR) {
+                return null;
+            }
+            return model;
+        }
+        catch (JoranException ex) {
+            addError("Unable to parse " + this.url, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Set the model of the configuration that is currently applied.
+     * @param model the applied model
+     */
+    void setAppliedModel(Model model) {
+        this.appliedModel = model;
+    }
+
+    /**
+     * Apply the given model incrementally.
+     * @param model the model to apply
+     * @return {@code true} if the model was applied or is unchanged, {@code false} if a
+     * full reconfiguration is required
+     */
+    boolean apply(Model model) {
+        Diff diff = (this.appliedModel != null) ? Diff.compute(this.appliedModel, model) : null;
+        if (diff == null) {
+            return false;
+        }
+        if (diff.isEmpty()) {
+            this.appliedModel = model;
+            return true;
+        }
+        addInfo("Reconfiguring appenders " + diff.changedAppenders + " and loggers " + diff.changedLoggers);
+        RunningAppenders running = RunningAppenders.collect(this.loggerContext);
+        Set<Logger> resetLoggers = resetLoggers(diff.changedLoggers);
+        Map<String, List<AppenderAttachable<ILoggingEvent>>> holders = new LinkedHashMap<>();
+        for (String name : diff.changedAppenders) {
+            Appender<ILoggingEvent> appender = running.appenders.remove(name);
+            if (appender != null) {
+                holders.put(name, running.detach(appender));
+                if (appender instanceof AppenderAttachable<?>) {
+                    // Wrapped appenders may be retained so they must not be stopped
+                    // along with the wrapper
+                    AppenderAttachable<ILoggingEvent> wrapper = RunningAppenders.asAttachable(appender);
+                    List<Appender<ILoggingEvent>> wrapped = new ArrayList<>();
+                    wrapper.iteratorForAppenders().forEachRemaining(wrapped::add);
+                    wrapped.forEach(wrapper::detachAppender);
+                }
+                appender.stop();
+            }
+            removeFromCollisionMaps(name);
+        }
+        SpringBootJoran15Configurator configurator = new SpringBootJoran15Configurator(this.initializationContext);
+        configurator.setContext(this.loggerContext);
+        Set<String> referencedAppenders = new HashSet<>();
+        holders.forEach((name, appenderHolders) -> {
+            if (appenderHolders.stream().anyMatch((holder) -> !resetLoggers.contains(holder))) {
+                referencedAppenders.add(name);
+            }
+        });
+        configurator.processModel(diff.createPartialModel(model), running.appenders, referencedAppenders);
+        Map<String, Appender<ILoggingEvent>> created = getAppenderBag(configurator);
+        holders.forEach((name, appenderHolders) -> {
+            Appender<ILoggingEvent> appender = created.get(name);
+            if (appender != null) {
+                appenderHolders.stream()
+                    .filter((holder) -> !resetLoggers.contains(holder) && !isStopped(holder))
+                    .forEach((holder) -> holder.addAppender(appender));
+            }
+        });
+        this.appliedModel = model;
+        return true;
+    }
+
+    private Set<Logger> resetLoggers(Set<String> names) {
+        Set<Logger> loggers = new HashSet<>();
+        for (String name : names) {
+            boolean root = ROOT_KEY.equals(name);
+            Logger logger = this.loggerContext.getLogger(root ? org.slf4j.Logger.ROOT_LOGGER_NAME : name);
+            List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+            logger.iteratorForAppenders().forEachRemaining(appenders::add);
+            appenders.forEach(logger::detachAppender);
+            logger.setLevel(root ? Level.DEBUG : null);
+            logger.setAdditive(true);
+            loggers.add(logger);
+        }
+        return loggers;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void removeFromCollisionMaps(String appenderName) {
+        for (String key : List.of(CoreConstants.FA_FILENAME_COLLISION_MAP,
+                CoreConstants.RFA_FILENAME_PATTERN_COLLISION_MAP)) {
+            if (this.loggerContext.getObject(key) instanceof Map<?, ?> map) {
+                ((Map<String, ?>) map).remove(appenderName);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Appender<ILoggingEvent>> getAppenderBag(SpringBootJoran15Configurator configurator) {
+        Object appenderBag = configurator.getModelInterpretationContext()
+            .getObjectMap()
+            .get(JoranConstants.APPENDER_BAG);
+        return (appenderBag instanceof Map) ? (Map<String, Appender<ILoggingEvent>>) appenderBag : Map.of();
+    }
+
+    private static boolean isStopped(AppenderAttachable<ILoggingEvent> holder) {
+        return holder instanceof Appender<?> appender && !appender.isStarted();
+    }
+
+    /**
+     * The appenders reachable from the loggers of a context, together with the loggers and
+     * appenders that hold them.
+     */
+    private static final class RunningAppenders {
+
+        private final Map<String, Appender<ILoggingEvent>> appenders = new LinkedHashMap<>();
+
+        private final Map<Appender<ILoggingEvent>, List<AppenderAttachable<ILoggingEvent>>> holders = new IdentityHashMap<>();
+
+        static RunningAppenders collect(LoggerContext loggerContext) {
+            RunningAppenders running = new RunningAppenders();
+            for (Logger logger : loggerContext.getLoggerList()) {
+                running.collect(logger);
+            }
+            return running;
+        }
+
+        private void collect(AppenderAttachable<ILoggingEvent> holder) {
+            Iterator<Appender<ILoggingEvent>> iterator = holder.iteratorForAppenders();
+            while (iterator.hasNext()) {
+                Appender<ILoggingEvent> appender = iterator.next();
+                boolean seen = this.holders.containsKey(appender);
+                this.holders.computeIfAbsent(appender, (key) -> new ArrayList<>()).add(holder);
+                if (!seen) {
+                    this.appenders.putIfAbsent(appender.getName(), appender);
+                    if (appender instanceof AppenderAttachable<?>) {
+                        collect(asAttachable(appender));
+                    }
+                }
+            }
+        }
+
+        List<AppenderAttachable<ILoggingEvent>> detach(Appender<ILoggingEvent> appender) {
+            List<AppenderAttachable<ILoggingEvent>> appenderHolders = this.holders.getOrDefault(appender, List.of());
+            appenderHolders.forEach((holder) -> holder.detachAppender(appender));
+            return appenderHolders;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static AppenderAttachable<ILoggingEvent> asAttachable(Appender<ILoggingEvent> appender) {
+            return (AppenderAttachable<ILoggingEvent>) appender;
+        }
+
+    }
+
+    /**
+     * The difference between two configuration models.
+     */
+    private static final class Diff {
+
+        private final Set<String> changedAppenders = new HashSet<>();
+
+        private final Set<String> changedLoggers = new HashSet<>();
+
+        private Diff() {
+        }
+
+        boolean isEmpty() {
+            return this.changedAppenders.isEmpty() && this.changedLoggers.isEmpty();
+        }
+
+        /**
+         * Compute the difference between the given models.
+         * @param applied the applied model
+         * @param model the new model
+         * @return the difference or {@code null} if the models cannot be compared
+         * element by element
+         */
+        static Diff compute(Model applied, Model model) {
+            if (!(applied instanceof ConfigurationModel) || !(model instanceof ConfigurationModel)
+                    || !equivalentIgnoringSubModels(applied, model)) {
+                return null;
+            }
+            Elements appliedElements = Elements.of(applied);
+            Elements elements = Elements.of(model);
+            if (appliedElements == null || elements == null
+                    || !equivalent(appliedElements.others, elements.others)) {
+                return null;
+            }
+            Diff diff = new Diff();
+            diff.changedAppenders.addAll(changedKeys(appliedElements.appenders, elements.appenders));
+            diff.changedLoggers.addAll(changedKeys(appliedElements.loggers, elements.loggers));
+            return diff;
+        }
+
+        private static Set<String> changedKeys(Map<String, Model> applied, Map<String, Model> models) {
+            Set<String> keys = new HashSet<>(applied.keySet());
+            keys.addAll(models.keySet());
+            keys.removeIf((key) -> applied.containsKey(key) && models.containsKey(key)
+                    && equivalent(applied.get(key), models.get(key)));
+            return keys;
+        }
+
+        /**
+         * Create a model containing the changed appenders and loggers of the given model
+         * and the variable definitions that they may depend on.
+         */
+        Model createPartialModel(Model model) {
+            ConfigurationModel configurationModel = (ConfigurationModel) model;
+            ConfigurationModel partial = new ConfigurationModel();
+            partial.setTag(configurationModel.getTag());
+            partial.setPackagingDataStr(configurationModel.getPackagingDataStr());
+            for (Model submodel : model.getSubModels()) {
+                String key = Elements.key(submodel);
+                if ((submodel instanceof AppenderModel && this.changedAppenders.contains(key))
+                        || (isLogger(submodel) && this.changedLoggers.contains(key))) {
+                    partial.addSubModel(submodel);
+                }
+                else {
+                    Model variables = variableDefinitions(submodel);
+                    if (variables != null) {
+                        partial.addSubModel(variables);
+                    }
+                }
+            }
+            return partial;
+        }
+
+        private static Model variableDefinitions(Model model) {
+            if (VARIABLE_DEFINITION_TYPES.contains(model.getClass())) {
+                return model;
+            }
+            if (model instanceof SpringProfileModel profileModel) {
+                SpringProfileModel copy = new SpringProfileModel();
+                copy.setTag(profileModel.getTag());
+                copy.setName(profileModel.getName());
+                for (Model submodel : profileModel.getSubModels()) {
+                    Model variables = variableDefinitions(submodel);
+                    if (variables != null) {
+                        copy.addSubModel(variables);
+                    }
+                }
+                return copy.getSubModels().isEmpty() ? null : copy;
+            }
+            return null;
+        }
+
+        private static boolean isLogger(Model model) {
+            return model instanceof LoggerModel || model instanceof RootLoggerModel;
+        }
+
+        private static boolean equivalent(List<Model> models, List<Model> others) {
+            if (models.size() != others.size()) {
+                return false;
+            }
+            for (int i = 0; i < models.size(); i++) {
+                if (!equivalent(models.get(i), others.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean equivalent(Model model, Model other) {
+            return equivalentIgnoringSubModels(model, other) && equivalent(model.getSubModels(), other.getSubModels());
+        }
+
+        private static boolean equivalentIgnoringSubModels(Model model, Model other) {
+            if (model.getClass() != other.getClass()) {
+                return false;
+            }
+            for (Class<?> type = model.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (isCompared(field)) {
+                        ReflectionUtils.makeAccessible(field);
+                        if (!Objects.equals(ReflectionUtils.getField(field, model),
+                                ReflectionUtils.getField(field, other))) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+
+        private static boolean isCompared(Field field) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+                return false;
+            }
+            // Line numbers and processing state do not affect the resulting configuration
+            return field.getDeclaringClass() != Model.class || "tag".equals(field.getName())
+                    || "bodyText".equals(field.getName());
+        }
+
+    }
+
+    /**
+     * The top-level elements of a configuration model.
+     */
+    private static final class Elements {
+
+        private final Map<String, Model> appenders = new LinkedHashMap<>();
+
+        private final Map<String, Model> loggers = new LinkedHashMap<>();
+
+        private final List<Model> others = new ArrayList<>();
+
+        static Elements of(Model model) {
+            Elements elements = new Elements();
+            for (Model submodel : model.getSubModels()) {
+                String key = key(submodel);
+                if (submodel instanceof AppenderModel) {
+                    if (key == null || elements.appenders.put(key, submodel) != null) {
+                        return null;
+                    }
+                }
+                else if (Diff.isLogger(submodel)) {
+                    if (key == null || elements.loggers.put(key, submodel) != null) {
+                        return null;
+                    }
+                }
+                else {
+                    elements.others.add(submodel);
+                }
+            }
+            return elements;
+        }
+
+        /**
+         * Return the key of an appender or logger model or {@code null} if its name
+         * cannot be determined without variable substitution.
+         */
+        static String key(Model model) {
+            String name = null;
+            if (model instanceof AppenderModel appenderModel) {
+                name = appenderModel.getName();
+            }
+            else if (model instanceof LoggerModel loggerModel) {
+                name = loggerModel.getName();
+            }
+            else if (model instanceof RootLoggerModel) {
+                name = ROOT_KEY;
+            }
+            return (name != null && !name.contains(CoreConstants.DEFAULT_VALUE_SEPARATOR) && !name.contains("${"))
+                    ? name : null;
+        }
+
+    }
+
+}
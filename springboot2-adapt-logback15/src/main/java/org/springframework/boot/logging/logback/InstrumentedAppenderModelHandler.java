@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.joran.JoranConstants;
+import ch.qos.logback.core.model.AppenderModel;
+import ch.qos.logback.core.model.Model;
+import ch.qos.logback.core.model.processor.AppenderModelHandler;
+import ch.qos.logback.core.model.processor.ModelHandlerException;
+import ch.qos.logback.core.model.processor.ModelInterpretationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.Map;
+
+/**
+ * {@link AppenderModelHandler} that records the start of each appender as a
+ * {@link StartupStep}. When a {@link ParallelAppenderStarter} is available the appender
+ * is handed to it instead of being started on the configuring thread.
+ *
+ * @param <E> the event type
+ */
+class InstrumentedAppenderModelHandler<E> extends AppenderModelHandler<E> {
+
+    private final ApplicationStartup applicationStartup;
+
+    private final ParallelAppenderStarter parallelAppenderStarter;
+
+    private Appender<E> appender;
+
+    InstrumentedAppenderModelHandler(Context context, ApplicationStartup applicationStartup,
+                                     ParallelAppenderStarter parallelAppenderStarter) {
+        super(context);
+        this.applicationStartup = applicationStartup;
+        this.parallelAppenderStarter = parallelAppenderStarter;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void handle(ModelInterpretationContext intercon, Model model) throws ModelHandlerException {
+        Object top = intercon.isObjectStackEmpty() ? null : intercon.peekObject();
+        super.handle(intercon, model);
+        Object pushed = intercon.isObjectStackEmpty() ? null : intercon.peekObject();
+        // Only an appender that has been successfully created is pushed
+        this.appender = (pushed != top && pushed instanceof Appender) ? (Appender<E>) pushed : null;
+    }
+
+    @Override
+    public void postHandle(ModelInterpretationContext intercon, Model model) throws ModelHandlerException {
+        if (this.parallelAppenderStarter != null && this.appender != null) {
+            postHandleWithParallelStart(intercon, this.appender);
+            return;
+        }
+        StartupStep step = this.applicationStartup.start("spring.boot.logging.logback.start-appender");
+        if (model instanceof AppenderModel appenderModel && appenderModel.getName() != null) {
+            step.tag("name", appenderModel.getName());
+        }
+        try {
+            super.postHandle(intercon, model);
+        }
+        finally {
+            step.end();
+        }
+    }
+
+    /**
+     * Equivalent of {@link AppenderModelHandler#postHandle} that delegates the start of
+     * the appender to the {@link ParallelAppenderStarter}.
+     */
+    @SuppressWarnings("unchecked")
+    private void postHandleWithParallelStart(ModelInterpretationContext intercon, Appender<E> appender) {
+        this.parallelAppenderStarter.start(appender);
+        intercon.markStartOfNamedDependee(appender.getName());
+        Map<String, Appender<E>> appenderBag = (Map<String, Appender<E>>) intercon.getObjectMap()
+                .get(JoranConstants.APPENDER_BAG);
+        appenderBag.put(appender.getName(), appender);
+        if (intercon.peekObject() != appender) {
+            addWarn("The object at the of the stack is not the appender named [" + appender.getName()
+                    + "] pushed earlier.");
+        }
+        else {
+            intercon.popObject();
+        }
+    }
+
+}
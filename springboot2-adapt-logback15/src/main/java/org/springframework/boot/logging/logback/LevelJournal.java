@@ -0,0 +1,308 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LogLevelOverride;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Local journal of the log levels that have been changed at runtime, so that they can be
+ * restored when the application restarts. The journal is a properties file keyed by
+ * logger name that is replaced atomically on every change. A value is either a level or,
+ * for a {@link LogLevelOverride time-boxed level}, the level, its expiry and the level
+ * that was journaled before it.
+ * <p>
+ * Changes are only recorded once the application has started, so that levels applied
+ * from {@code logging.level.*} properties during startup are not journaled. Journaled
+ * levels are applied again once those properties have been applied, so that they take
+ * precedence.
+ */
+class LevelJournal extends ContextAwareBase {
+
+    /**
+     * Property used to configure the journal file. Levels are not journaled unless it is
+     * set.
+     */
+    static final String FILE_PROPERTY = "logging.logback.level-journal.file";
+
+    private final Path file;
+
+    private final Map<String, Entry> entries = new TreeMap<>();
+
+    private volatile boolean recording;
+
+    private LevelJournal(Context context, Path file) {
+        setContext(context);
+        this.file = file;
+    }
+
+    /**
+     * Return a {@link LevelJournal} if a journal file has been configured in the given
+     * environment.
+     * @param context the logback context
+     * @param environment the environment or {@code null}
+     * @return the journal or {@code null}
+     */
+    static LevelJournal get(Context context, Environment environment) {
+        String file = (environment != null) ? environment.getProperty(FILE_PROPERTY) : null;
+        if (!StringUtils.hasText(file)) {
+            return null;
+        }
+        return new LevelJournal(context, Paths.get(file.trim()).toAbsolutePath());
+    }
+
+    /**
+     * Read the journal file, dropping time-boxed levels that have expired in the
+     * meantime in favor of the level that was journaled before them.
+     * @return the journaled entries keyed by logger name
+     */
+    synchronized Map<String, Entry> load() {
+        this.entries.clear();
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(this.file)) {
+            properties.load(inputStream);
+        }
+        catch (NoSuchFileException ex) {
+            return Collections.emptyMap();
+        }
+        catch (IOException | IllegalArgumentException ex) {
+            addWarn("Unable to read log level journal " + this.file, ex);
+            return Collections.emptyMap();
+        }
+        Instant now = Instant.now();
+        boolean pruned = false;
+        for (String name : properties.stringPropertyNames()) {
+            Entry entry = Entry.parse(properties.getProperty(name));
+            if (entry == null) {
+                addWarn("Ignoring invalid log level journal entry for '" + name + "'");
+                pruned = true;
+            }
+            else if (entry.expiresAt != null && !entry.expiresAt.isAfter(now)) {
+                if (entry.previousLevel != null) {
+                    this.entries.put(name, new Entry(entry.previousLevel, null, null));
+                }
+                pruned = true;
+            }
+            else {
+                this.entries.put(name, entry);
+            }
+        }
+        if (pruned) {
+            write();
+        }
+        return getEntries();
+    }
+
+    /**
+     * Return the journaled entries keyed by logger name.
+     * @return the entries
+     */
+    synchronized Map<String, Entry> getEntries() {
+        return new LinkedHashMap<>(this.entries);
+    }
+
+    /**
+     * Start recording changes.
+     */
+    void startRecording() {
+        this.recording = true;
+    }
+
+    boolean isRecording() {
+        return this.recording;
+    }
+
+    /**
+     * Record the given levels. A {@code null} level removes the logger from the journal.
+     * @param levels the levels keyed by logger name
+     */
+    synchronized void record(Map<String, LogLevel> levels) {
+        if (!this.recording) {
+            return;
+        }
+        levels.forEach((name, level) -> {
+            if (level != null) {
+                this.entries.put(name, new Entry(level, null, null));
+            }
+            else {
+                this.entries.remove(name);
+            }
+        });
+        write();
+    }
+
+    /**
+     * Record the given time-boxed level.
+     * @param override the override
+     */
+    synchronized void record(LogLevelOverride override) {
+        if (!this.recording) {
+            return;
+        }
+        Entry existing = this.entries.get(override.getName());
+        LogLevel previousLevel = null;
+        if (existing != null) {
+            previousLevel = (existing.expiresAt != null) ? existing.previousLevel : existing.level;
+        }
+        this.entries.put(override.getName(), new Entry(override.getLevel(), override.getExpiresAt(), previousLevel));
+        write();
+    }
+
+    /**
+     * Replace the journaled entry of the given expired override with the level that was
+     * journaled before it.
+     * @param override the override
+     */
+    synchronized void expired(LogLevelOverride override) {
+        Entry entry = this.entries.get(override.getName());
+        if (entry == null || !override.getExpiresAt().equals(entry.expiresAt)) {
+            return;
+        }
+        if (entry.previousLevel != null) {
+            this.entries.put(override.getName(), new Entry(entry.previousLevel, null, null));
+        }
+        else {
+            this.entries.remove(override.getName());
+        }
+        write();
+    }
+
+    private void write() {
+        Properties properties = new Properties();
+        this.entries.forEach((name, entry) -> properties.setProperty(name, entry.toString()));
+        Path temp = null;
+        try {
+            Path directory = this.file.getParent();
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, this.file.getFileName().toString(), ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(temp)) {
+                properties.store(outputStream, "Log levels changed at runtime");
+            }
+            try {
+                Files.move(temp, this.file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch (IOException ex) {
+            addWarn("Unable to write log level journal " + this.file, ex);
+            try {
+                if (temp != null) {
+                    Files.deleteIfExists(temp);
+                }
+            }
+            catch (IOException deleteEx) {
+                // Ignore
+            }
+        }
+    }
+
+    /**
+     * A journaled level.
+     */
+    static final class Entry {
+
+        private static final String SEPARATOR = ",";
+
+        private final LogLevel level;
+
+        private final Instant expiresAt;
+
+        private final LogLevel previousLevel;
+
+        private Entry(LogLevel level, Instant expiresAt, LogLevel previousLevel) {
+            this.level = level;
+            this.expiresAt = expiresAt;
+            this.previousLevel = previousLevel;
+        }
+
+        LogLevel getLevel() {
+            return this.level;
+        }
+
+        /**
+         * Return when the level expires.
+         * @return the expiry or {@code null} if the level is not time-boxed
+         */
+        Instant getExpiresAt() {
+            return this.expiresAt;
+        }
+
+        /**
+         * Return the level that was journaled before a time-boxed level.
+         * @return the previous level or {@code null}
+         */
+        LogLevel getPreviousLevel() {
+            return this.previousLevel;
+        }
+
+        @Override
+        public String toString() {
+            if (this.expiresAt == null) {
+                return this.level.name();
+            }
+            return toString(this.level) + SEPARATOR + this.expiresAt + SEPARATOR + toString(this.previousLevel);
+        }
+
+        private static String toString(LogLevel level) {
+            return (level != null) ? level.name() : "";
+        }
+
+        private static Entry parse(String value) {
+            try {
+                String[] parts = value.split(SEPARATOR, -1);
+                if (parts.length == 1) {
+                    return new Entry(LogLevel.valueOf(parts[0].trim()), null, null);
+                }
+                if (parts.length == 3) {
+                    return new Entry(parseLevel(parts[0]), Instant.parse(parts[1].trim()), parseLevel(parts[2]));
+                }
+                return null;
+            }
+            catch (RuntimeException ex) {
+                return null;
+            }
+        }
+
+        private static LogLevel parseLevel(String value) {
+            return StringUtils.hasText(value) ? LogLevel.valueOf(value.trim()) : null;
+        }
+
+    }
+
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LogLevelOverride;
+import org.springframework.util.Assert;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Tracks {@link LogLevelOverride time-boxed log levels} and restores the previously
+ * configured level of each logger when its override expires. Every override is reverted
+ * from a single, lazily started daemon thread.
+ * <p>
+ * An override is only reverted if the logger still has the level that the override set,
+ * so that a level that was changed in the meantime, for example by a reconfiguration, is
+ * left alone.
+ */
+class LogLevelOverrides {
+
+    private final Function<String, LogLevel> levelGetter;
+
+    private final BiConsumer<String, LogLevel> levelSetter;
+
+    private final BiPredicate<String, LogLevel> levelMatcher;
+
+    private final Consumer<LogLevelOverride> expiryListener;
+
+    private final Map<String, Scheduled> overrides = new ConcurrentHashMap<>();
+
+    private ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * Create a new instance.
+     * @param levelGetter returns the configured level of a logger
+     * @param levelSetter sets the configured level of a logger
+     * @param levelMatcher returns whether a logger is configured with the native level
+     * that a level maps to, as several levels may map to the same native level
+     * @param expiryListener notified when an override has expired
+     */
+    LogLevelOverrides(Function<String, LogLevel> levelGetter, BiConsumer<String, LogLevel> levelSetter,
+                      BiPredicate<String, LogLevel> levelMatcher, Consumer<LogLevelOverride> expiryListener) {
+        this.levelGetter = levelGetter;
+        this.levelSetter = levelSetter;
+        this.levelMatcher = levelMatcher;
+        this.expiryListener = expiryListener;
+    }
+
+    /**
+     * Set the level of the given logger until the given time to live has elapsed. When
+     * the logger already has an override, its expiry is replaced but the level that was
+     * configured before the first override is kept as the one to restore.
+     * @param name the logger name
+     * @param level the level to set
+     * @param timeToLive how long the level should be in effect
+     * @return the override
+     */
+    synchronized LogLevelOverride override(String name, LogLevel level, Duration timeToLive) {
+        Assert.isTrue(timeToLive != null && !timeToLive.isNegative() && !timeToLive.isZero(),
+                "TimeToLive must be positive");
+        Scheduled existing = this.overrides.remove(name);
+        if (existing != null) {
+            existing.future.cancel(false);
+        }
+        LogLevel previousLevel = (existing != null) ? existing.override.getPreviousLevel()
+                : this.levelGetter.apply(name);
+        this.levelSetter.accept(name, level);
+        LogLevelOverride override = new LogLevelOverride(name, level, previousLevel, expiresAt(timeToLive));
+        schedule(override, timeToLive);
+        return override;
+    }
+
+    /**
+     * Track an override whose level has already been set, for example one that has been
+     * restored after a restart, and revert it once it expires.
+     * @param override the override
+     */
+    synchronized void restore(LogLevelOverride override) {
+        Scheduled existing = this.overrides.remove(override.getName());
+        if (existing != null) {
+            existing.future.cancel(false);
+        }
+        Duration delay = Duration.between(Instant.now(), override.getExpiresAt());
+        schedule(override, delay.isNegative() ? Duration.ZERO : delay);
+    }
+
+    private void schedule(LogLevelOverride override, Duration delay) {
+        ScheduledFuture<?> future = getScheduler().schedule(() -> expire(override), toMillis(delay),
+                TimeUnit.MILLISECONDS);
+        this.overrides.put(override.getName(), new Scheduled(override, future));
+    }
+
+    private static Instant expiresAt(Duration timeToLive) {
+        try {
+            return Instant.now().plus(timeToLive);
+        }
+        catch (DateTimeException | ArithmeticException ex) {
+            return Instant.MAX;
+        }
+    }
+
+    private static long toMillis(Duration delay) {
+        try {
+            return delay.toMillis();
+        }
+        catch (ArithmeticException ex) {
+            // Too long to ever expire
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private synchronized void expire(LogLevelOverride override) {
+        Scheduled scheduled = this.overrides.get(override.getName());
+        if (scheduled == null || scheduled.override != override) {
+            return;
+        }
+        this.overrides.remove(override.getName());
+        if (this.levelMatcher.test(override.getName(), override.getLevel())) {
+            this.levelSetter.accept(override.getName(), override.getPreviousLevel());
+        }
+        this.expiryListener.accept(override);
+    }
+
+    /**
+     * Forget the override of the given logger, if any, without restoring its previous
+     * level. Used when the level is changed explicitly.
+     * @param name the logger name
+     */
+    void cancel(String name) {
+        if (this.overrides.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            Scheduled scheduled = this.overrides.remove(name);
+            if (scheduled != null) {
+                scheduled.future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Return the active override of the given logger.
+     * @param name the logger name
+     * @return the override or {@code null}
+     */
+    LogLevelOverride get(String name) {
+        Scheduled scheduled = this.overrides.get(name);
+        return (scheduled != null) ? scheduled.override : null;
+    }
+
+    /**
+     * Return every active override.
+     * @return the overrides
+     */
+    List<LogLevelOverride> getAll() {
+        List<LogLevelOverride> overrides = new ArrayList<>(this.overrides.size());
+        this.overrides.values().forEach((scheduled) -> overrides.add(scheduled.override));
+        return overrides;
+    }
+
+    boolean isEmpty() {
+        return this.overrides.isEmpty();
+    }
+
+    /**
+     * Stop the scheduler and forget every override without restoring any level.
+     */
+    synchronized void close() {
+        this.overrides.clear();
+        if (this.scheduler != null) {
+            this.scheduler.shutdownNow();
+            this.scheduler = null;
+        }
+    }
+
+    private ScheduledThreadPoolExecutor getScheduler() {
+        if (this.scheduler == null) {
+            this.scheduler = new ScheduledThreadPoolExecutor(1, (runnable) -> {
+                Thread thread = new Thread(runnable, "logback-level-override-revert");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.setRemoveOnCancelPolicy(true);
+        }
+        return this.scheduler;
+    }
+
+    private static final class Scheduled {
+
+        private final LogLevelOverride override;
+
+        private final ScheduledFuture<?> future;
+
+        private Scheduled(LogLevelOverride override, ScheduledFuture<?> future) {
+            this.override = override;
+            this.future = future;
+        }
+
+    }
+
+}
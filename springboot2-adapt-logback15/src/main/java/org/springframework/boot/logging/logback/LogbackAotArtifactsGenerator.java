@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.joran.spi.JoranException;
+import ch.qos.logback.core.status.Status;
+import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.util.Assert;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Build-time generator for the {@code META-INF/spring/logback-model} and
+ * {@code META-INF/spring/logback-pattern-rules} resources that allow
+ * {@link LogbackLogging15System} to skip XML parsing on startup. Typically invoked from
+ * the {@code exec-maven-plugin} during {@code process-classes} with the arguments
+ * {@code <config-location> <output-directory> [<active-profiles>]}.
+ * <p>
+ * {@code <springProfile>} and {@code <springProperty>} elements are re-evaluated
+ * against the runtime environment, the active profiles given here only decide which
+ * {@code <include>} elements are expanded into the generated model.
+ *
+ * @see SpringBootJoran15Configurator
+ */
+public final class LogbackAotArtifactsGenerator {
+
+    private final ConfigurableEnvironment environment;
+
+    public LogbackAotArtifactsGenerator(ConfigurableEnvironment environment) {
+        Assert.notNull(environment, "Environment must not be null");
+        this.environment = environment;
+    }
+
+    /**
+     * Process the given Logback configuration and write the generated artifacts.
+     * @param configLocation the location of the configuration to process
+     * @param outputDirectory the root directory that the resources should be written to,
+     * usually {@code target/classes}
+     * @throws IOException on read or write error
+     */
+    public void generate(String configLocation, Path outputDirectory) throws IOException {
+        URL url = ResourceUtils.getURL(configLocation);
+        LoggerContext loggerContext = new LoggerContext();
+        try {
+            SpringBootJoran15Configurator configurator = new SpringBootJoran15Configurator(
+                    new LoggingInitializationContext(this.environment));
+            configurator.setContext(loggerContext);
+            configurator.doConfigure(url);
+            assertNoConfigurationErrors(loggerContext, configLocation);
+            configurator.writeAotGeneratedArtifacts(outputDirectory);
+        }
+        catch (JoranException ex) {
+            throw new IllegalStateException("Could not process Logback configuration from " + configLocation, ex);
+        }
+        finally {
+            loggerContext.stop();
+        }
+    }
+
+    private void assertNoConfigurationErrors(LoggerContext loggerContext, String configLocation) {
+        List<String> errors = new ArrayList<>();
+        for (Status status : loggerContext.getStatusManager().getCopyOfStatusList()) {
+            if (status.getLevel() == Status.ERROR) {
+                errors.add(status.toString());
+            }
+        }
+        Assert.state(errors.isEmpty(), () -> String.format("Logback configuration error detected in %s: %n%s",
+                configLocation, String.join(String.format("%n"), errors)));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException(
+                    "Usage: " + LogbackAotArtifactsGenerator.class.getName()
+                            + " <config-location> <output-directory> [<active-profiles>]");
+        }
+        StandardEnvironment environment = new StandardEnvironment();
+        if (args.length > 2 && StringUtils.hasText(args[2])) {
+            environment.setActiveProfiles(
+                    StringUtils.trimArrayElements(StringUtils.commaDelimitedListToStringArray(args[2])));
+        }
+        new LogbackAotArtifactsGenerator(environment).generate(args[0], Paths.get(args[1]));
+    }
+
+}
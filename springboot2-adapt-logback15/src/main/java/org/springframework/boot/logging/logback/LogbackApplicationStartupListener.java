@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.LoggerContext;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartingEvent;
+import org.springframework.boot.context.event.SpringApplicationEvent;
+import org.springframework.boot.context.logging.LoggingApplicationListener;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.metrics.ApplicationStartup;
+
+/**
+ * {@link ApplicationListener} that makes the {@link ApplicationStartup} of the
+ * {@link SpringApplication} available to {@link LogbackLogging15System}, so that the
+ * logging initialization is recorded in the same startup timeline as the rest of the
+ * application. The {@code logging.level.*} properties are applied in a single pass by
+ * the {@link DeferredLogLevelsListener}. Once they have been applied, the journaled log
+ * levels are applied again, and once the application is ready, log level changes start
+ * being journaled.
+ */
+public class LogbackApplicationStartupListener implements ApplicationListener<SpringApplicationEvent>, Ordered {
+
+    @Override
+    public void onApplicationEvent(SpringApplicationEvent event) {
+        if (event instanceof ApplicationStartingEvent) {
+            ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+            if (factory instanceof LoggerContext loggerContext) {
+                loggerContext.putObject(ApplicationStartup.class.getName(),
+                        event.getSpringApplication().getApplicationStartup());
+            }
+        }
+        else if (event instanceof ApplicationEnvironmentPreparedEvent) {
+            // Before LoggingApplicationListener initializes the logging system
+            ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+            if (factory instanceof LoggerContext loggerContext) {
+                loggerContext.putObject(LogbackLogging15System.DEFER_LOG_LEVELS_KEY, Boolean.TRUE);
+            }
+        }
+        else if (event instanceof ApplicationPreparedEvent) {
+            // The first event after LoggingApplicationListener has applied the levels
+            LogbackLogging15System loggingSystem = getInitializedLoggingSystem();
+            if (loggingSystem != null) {
+                loggingSystem.applyDeferredLogLevels();
+                loggingSystem.reapplyLevelJournal();
+            }
+        }
+        else if (event instanceof ApplicationReadyEvent readyEvent) {
+            ConfigurableApplicationContext context = readyEvent.getApplicationContext();
+            if (context.containsBean(LoggingApplicationListener.LOGGING_SYSTEM_BEAN_NAME)
+                    && context.getBean(LoggingApplicationListener.LOGGING_SYSTEM_BEAN_NAME)
+                        instanceof LogbackLogging15System loggingSystem) {
+                loggingSystem.startLevelJournal();
+            }
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private static LogbackLogging15System getInitializedLoggingSystem() {
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (factory instanceof LoggerContext loggerContext && loggerContext
+            .getObject(LoggingSystem.class.getName()) instanceof LogbackLogging15System loggingSystem) {
+            return loggingSystem;
+        }
+        return null;
+    }
+
+    /**
+     * {@link ApplicationListener} that applies the {@code logging.level.*} properties that
+     * {@link LoggingApplicationListener} has set one at a time in a single pass, right
+     * after it has initialized the logging system.
+     */
+    public static class DeferredLogLevelsListener
+            implements ApplicationListener<ApplicationEnvironmentPreparedEvent>, Ordered {
+
+        @Override
+        public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+            LogbackLogging15System loggingSystem = getInitializedLoggingSystem();
+            if (loggingSystem != null) {
+                loggingSystem.applyDeferredLogLevels();
+            }
+        }
+
+        @Override
+        public int getOrder() {
+            return LoggingApplicationListener.DEFAULT_ORDER + 1;
+        }
+
+    }
+
+}
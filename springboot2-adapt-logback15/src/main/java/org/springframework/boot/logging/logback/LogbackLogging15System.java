@@ -18,27 +18,31 @@ package org.springframework.boot.logging.logback;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.LoggerContext;
-import ch.qos.logback.classic.joran.JoranConfigurator;
+import ch.qos.logback.classic.jul.JULHelper;
 import ch.qos.logback.classic.jul.LevelChangePropagator;
-import ch.qos.logback.classic.spi.TurboFilterList;
+import ch.qos.logback.classic.spi.LoggerContextListener;
 import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.joran.spi.JoranException;
-import ch.qos.logback.core.spi.FilterReply;
+import ch.qos.logback.core.model.Model;
+import ch.qos.logback.core.status.InfoStatus;
 import ch.qos.logback.core.status.OnConsoleStatusListener;
 import ch.qos.logback.core.status.Status;
 import ch.qos.logback.core.status.StatusUtil;
+import ch.qos.logback.core.status.WarnStatus;
 import ch.qos.logback.core.util.StatusListenerConfigHelper;
 import ch.qos.logback.core.util.StatusPrinter2;
 import org.slf4j.ILoggerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.Marker;
 import org.slf4j.bridge.SLF4JBridgeHandler;
 import org.slf4j.helpers.SubstituteLoggerFactory;
 import org.springframework.boot.logging.AbstractLoggingSystem15;
 import org.springframework.boot.logging.LogFile;
 import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LogLevelOverride;
 import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggerConfigurationPage;
 import org.springframework.boot.logging.LoggingInitializationContext;
 import org.springframework.boot.logging.LoggingSystem;
 import org.springframework.boot.logging.LoggingSystemFactory;
@@ -46,18 +50,31 @@ import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ResourceUtils;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.ProtectionDomain;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Handler;
 import java.util.logging.LogManager;
@@ -77,6 +94,20 @@ public class LogbackLogging15System extends AbstractLoggingSystem15{
 
     private static final String CONFIGURATION_FILE_PROPERTY = "logback.configurationFile";
 
+    private static final String FINGERPRINT_KEY = LogbackLogging15System.class.getName() + ".fingerprint";
+
+    private static final String MODEL_DEPENDENCIES_KEY = LogbackLogging15System.class.getName()
+            + ".modelDependencies";
+
+    private static final String CONFIGURATION_LOCATION_KEY = LogbackLogging15System.class.getName()
+            + ".configurationLocation";
+
+    /**
+     * Key of the context object that requests the levels set one at a time after the
+     * next initialization to be {@link #applyDeferredLogLevels() deferred}.
+     */
+    static final String DEFER_LOG_LEVELS_KEY = LogbackLogging15System.class.getName() + ".deferLogLevels";
+
     private static final AbstractLoggingSystem15.LogLevels<Level> LEVELS = createLogLevels();
 
     @SuppressWarnings("deprecation")
@@ -93,17 +124,30 @@ public class LogbackLogging15System extends AbstractLoggingSystem15{
         return levels;
     }
 
-    private static final TurboFilter SUPPRESS_ALL_FILTER = new TurboFilter() {
+    private final StatusPrinter2 statusPrinter = new StatusPrinter2();
 
-        @Override
-        public FilterReply decide(Marker marker, ch.qos.logback.classic.Logger logger, Level level, String format,
-                                  Object[] params, Throwable t) {
-            return FilterReply.DENY;
-        }
+    private Map<String, String> resolvedProperties;
 
-    };
+    private boolean contextReset;
 
-    private final StatusPrinter2 statusPrinter = new StatusPrinter2();
+    private ConfigurationWatcher configurationWatcher;
+
+    private final SuppressionGate suppressionGate = new SuppressionGate();
+
+    private EarlyEventBuffer earlyEventBuffer;
+
+    private volatile LoggerConfigurationIndex loggerConfigurationIndex;
+
+    private final LogLevelOverrides logLevelOverrides = new LogLevelOverrides(this::getConfiguredLevel,
+            this::applyLogLevel, this::hasConfiguredLevel, this::logLevelOverrideExpired);
+
+    private volatile LevelJournal levelJournal;
+
+    private final Map<String, LogLevel> externalLevels = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private final Object deferredLevelsMonitor = new Object();
+
+    private Map<String, LogLevel> deferredLevels;
 
     public LogbackLogging15System(ClassLoader classLoader) {
         super(classLoader);
@@ -127,7 +171,8 @@ public class LogbackLogging15System extends AbstractLoggingSystem15{
         }
         super.beforeInitialize();
         configureJdkLoggingBridgeHandler();
-        loggerContext.getTurboFilterList().add(SUPPRESS_ALL_FILTER);
+        this.earlyEventBuffer = EarlyEventBuffer.get();
+        this.suppressionGate.beginInitialization(loggerContext, this.earlyEventBuffer);
     }
 
     private void configureJdkLoggingBridgeHandler() {
@@ -183,57 +228,391 @@ public class LogbackLogging15System extends AbstractLoggingSystem15{
     public void initialize(LoggingInitializationContext initializationContext, String configLocation, LogFile logFile) {
         LoggerContext loggerContext = getLoggerContext();
         putInitializationContextObjects(loggerContext, initializationContext);
+        boolean deferLogLevels = loggerContext.getObject(DEFER_LOG_LEVELS_KEY) != null;
+        loggerContext.removeObject(DEFER_LOG_LEVELS_KEY);
         if (isAlreadyInitialized(loggerContext)) {
             return;
         }
-        if (!initializeFromAotGeneratedArtifactsIfPossible(initializationContext, logFile)) {
-            super.initialize(initializationContext, configLocation, logFile);
+        Object applicationStartup = loggerContext.getObject(ApplicationStartup.class.getName());
+        if (applicationStartup instanceof ApplicationStartup) {
+            setApplicationStartup((ApplicationStartup) applicationStartup);
+        }
+        StartupStep step = getApplicationStartup().start("spring.boot.logging.initialize");
+        if (StringUtils.hasLength(configLocation)) {
+            step.tag("configLocation", configLocation);
+        }
+        try {
+            this.resolvedProperties = resolveProperties(initializationContext, logFile);
+            if (!initializeFromAotGeneratedArtifactsIfPossible(initializationContext, logFile)) {
+                super.initialize(initializationContext, configLocation, logFile);
+            }
         }
-        loggerContext.getTurboFilterList().remove(SUPPRESS_ALL_FILTER);
+        finally {
+            this.resolvedProperties = null;
+            this.contextReset = false;
+            step.end();
+        }
+        replayLevelJournal(initializationContext);
+        long suppressed = this.suppressionGate.endInitialization();
+        addTurboFilters(initializationContext);
         markAsInitialized(loggerContext);
+        long replayed = replayEarlyEvents();
         if (StringUtils.hasText(System.getProperty(CONFIGURATION_FILE_PROPERTY))) {
             getLogger(LogbackLoggingSystem.class.getName()).warn("Ignoring '" + CONFIGURATION_FILE_PROPERTY
                     + "' system property. Please use 'logging.config' instead.");
         }
+        // Replayed events have been denied by the gate but were not lost
+        long dropped = Math.max(0, suppressed - replayed);
+        String suppressedMessage = "Suppressed " + dropped + " log events during logging initialization";
+        if (replayed > 0) {
+            suppressedMessage += ", replayed " + replayed + " others";
+        }
+        loggerContext.getStatusManager().add(new InfoStatus(suppressedMessage, this));
+        if (dropped > 0) {
+            getLogger(LogbackLoggingSystem.class.getName()).info(suppressedMessage);
+        }
+        startWatchingIfNecessary(initializationContext, logFile);
+        if (deferLogLevels) {
+            synchronized (this.deferredLevelsMonitor) {
+                this.deferredLevels = new LinkedHashMap<>();
+            }
+        }
+    }
+
+    /**
+     * Apply the levels that have been set through {@link #setLogLevel(String, LogLevel)}
+     * since initialization, when the context requested them to be deferred. Spring Boot
+     * applies the {@code logging.level.*} properties one at a time right after
+     * initialization, which then costs a single {@link #setLogLevels(Map) batch} instead
+     * of one effective level recomputation and {@code java.util.logging} update each.
+     */
+    void applyDeferredLogLevels() {
+        Map<String, LogLevel> levels;
+        synchronized (this.deferredLevelsMonitor) {
+            levels = this.deferredLevels;
+            this.deferredLevels = null;
+        }
+        if (levels != null && !levels.isEmpty()) {
+            applyLogLevels(levels);
+        }
+    }
+
+    private boolean deferLogLevel(String loggerName, LogLevel level) {
+        synchronized (this.deferredLevelsMonitor) {
+            if (this.deferredLevels == null) {
+                return false;
+            }
+            this.deferredLevels.put(loggerName, level);
+            return true;
+        }
+    }
+
+    /**
+     * Pass the events that were captured before initialization to the configured
+     * appenders, recording how many did not fit in the buffer.
+     * @return the number of events that have been replayed
+     */
+    private long replayEarlyEvents() {
+        EarlyEventBuffer buffer = this.earlyEventBuffer;
+        this.earlyEventBuffer = null;
+        if (buffer == null) {
+            return 0;
+        }
+        long replayed = buffer.replay();
+        long overflow = buffer.getOverflow();
+        if (overflow > 0) {
+            getLogger(LogbackLoggingSystem.class.getName()).warn("Unable to replay " + overflow
+                    + " log events from before logging initialization, consider increasing '"
+                    + EarlyEventBuffer.SIZE_PROPERTY + "'");
+        }
+        return replayed;
+    }
+
+    /**
+     * Watch the configuration file for changes when hot reload is enabled. A change to
+     * appenders or loggers only restarts the affected appenders, any other change
+     * reloads the whole configuration.
+     * @param initializationContext the initialization context
+     * @param logFile the log file or {@code null}
+     */
+    private synchronized void startWatchingIfNecessary(LoggingInitializationContext initializationContext,
+                                                       LogFile logFile) {
+        stopWatching();
+        LoggerContext loggerContext = getLoggerContext();
+        Object location = loggerContext.getObject(CONFIGURATION_LOCATION_KEY);
+        if (initializationContext == null || !(location instanceof String)) {
+            return;
+        }
+        try {
+            URL url = ResourceUtils.getURL((String) location);
+            IncrementalReconfigurer reconfigurer = new IncrementalReconfigurer(loggerContext, initializationContext,
+                    url);
+            this.configurationWatcher = ConfigurationWatcher.start(loggerContext,
+                    initializationContext.getEnvironment(), url,
+                    () -> reload(initializationContext, (String) location, logFile, reconfigurer));
+            if (this.configurationWatcher != null) {
+                reconfigurer.setAppliedModel(reconfigurer.parse());
+            }
+        }
+        catch (IOException ex) {
+            loggerContext.getStatusManager()
+                .add(new WarnStatus("Unable to watch " + location + " for changes", this, ex));
+        }
+    }
+
+    private synchronized void reload(LoggingInitializationContext initializationContext, String location,
+                                     LogFile logFile, IncrementalReconfigurer reconfigurer) {
+        LoggerContext loggerContext = getLoggerContext();
+        long threshold = System.currentTimeMillis();
+        Model model = reconfigurer.parse();
+        if (model == null) {
+            // Keep the current configuration rather than applying a broken one
+            this.statusPrinter.printIfErrorsOccured(loggerContext);
+            return;
+        }
+        if (reconfigurer.apply(model)) {
+            restoreRuntimeLevels();
+            String fingerprint = fingerprint(initializationContext,
+                    resolveProperties(initializationContext, logFile), location, logFile);
+            if (fingerprint != null) {
+                loggerContext.putObject(FINGERPRINT_KEY, fingerprint);
+            }
+            if (new StatusUtil(loggerContext).getHighestLevel(threshold) >= Status.ERROR) {
+                this.statusPrinter.printIfErrorsOccured(loggerContext);
+            }
+            return;
+        }
+        loggerContext.getStatusManager().clear();
+        try {
+            loadConfiguration(initializationContext, location, logFile);
+            reconfigurer.setAppliedModel(model);
+        }
+        finally {
+            restoreRuntimeLevels();
+            addTurboFilters(initializationContext);
+            markAsInitialized(loggerContext);
+        }
+    }
+
+    /**
+     * Restore the levels that were changed at runtime before the last restart, in a
+     * single batch. Called before logging is unsuppressed so that the first events are
+     * already filtered with the restored levels.
+     * @param initializationContext the initialization context
+     */
+    private void replayLevelJournal(LoggingInitializationContext initializationContext) {
+        this.levelJournal = (initializationContext != null)
+                ? LevelJournal.get(getLoggerContext(), initializationContext.getEnvironment()) : null;
+        if (this.levelJournal == null) {
+            return;
+        }
+        applyJournaledLevels(this.levelJournal.load());
+    }
+
+    /**
+     * Apply the journaled levels again once the {@code logging.level.*} properties have
+     * been applied during startup, so that the levels changed at runtime take precedence
+     * over them. Time-boxed levels that have been cancelled by those properties are
+     * tracked again and then revert to the level configured during startup.
+     */
+    void reapplyLevelJournal() {
+        LevelJournal levelJournal = this.levelJournal;
+        if (levelJournal != null && !levelJournal.isRecording()) {
+            applyJournaledLevels(levelJournal.getEntries());
+        }
+    }
+
+    private void applyJournaledLevels(Map<String, LevelJournal.Entry> entries) {
+        Map<String, LogLevel> levels = new LinkedHashMap<>();
+        List<LogLevelOverride> overrides = new ArrayList<>();
+        entries.forEach((name, entry) -> {
+            if (entry.getExpiresAt() != null) {
+                LogLevel previousLevel = (entry.getPreviousLevel() != null) ? entry.getPreviousLevel()
+                        : getConfiguredLevel(name);
+                overrides.add(new LogLevelOverride(name, entry.getLevel(), previousLevel, entry.getExpiresAt()));
+            }
+            levels.put(name, entry.getLevel());
+        });
+        applyLogLevels(levels);
+        overrides.forEach(this.logLevelOverrides::restore);
+    }
+
+    /**
+     * Restore the levels that did not come from the configuration file after it has been
+     * reloaded: the levels set through this logging system, such as those of
+     * {@code logging.level.*} properties, the journaled levels and the active time-boxed
+     * overrides, in that order of precedence from lowest to highest.
+     */
+    private void restoreRuntimeLevels() {
+        Map<String, LogLevel> levels = new LinkedHashMap<>();
+        synchronized (this.externalLevels) {
+            levels.putAll(this.externalLevels);
+        }
+        LevelJournal levelJournal = this.levelJournal;
+        if (levelJournal != null) {
+            levelJournal.getEntries().forEach((name, entry) -> levels.put(name, entry.getLevel()));
+        }
+        for (LogLevelOverride override : this.logLevelOverrides.getAll()) {
+            levels.put(override.getName(), override.getLevel());
+        }
+        applyLogLevels(levels);
+    }
+
+    /**
+     * Start journaling the levels that are changed from now on. Called once the
+     * application has started, so that the levels applied from {@code logging.level.*}
+     * properties during startup are not journaled.
+     * @see #reapplyLevelJournal()
+     */
+    void startLevelJournal() {
+        LevelJournal levelJournal = this.levelJournal;
+        if (levelJournal != null) {
+            levelJournal.startRecording();
+        }
+    }
+
+    private void logLevelOverrideExpired(LogLevelOverride override) {
+        LevelJournal levelJournal = this.levelJournal;
+        if (levelJournal != null) {
+            levelJournal.expired(override);
+        }
+    }
+
+    /**
+     * Add the {@link DuplicateMessageTurboFilter}, {@link RateLimitTurboFilter} and
+     * {@link RequestDebugTurboFilter} that are enabled behind the {@link SuppressionGate}.
+     * Duplicates are denied before they take a rate limit token. Resetting the context
+     * drops the filters, hence they are added again after every full reconfiguration.
+     * @param initializationContext the initialization context
+     */
+    private synchronized void addTurboFilters(LoggingInitializationContext initializationContext) {
+        Environment environment = (initializationContext != null) ? initializationContext.getEnvironment() : null;
+        List<TurboFilter> filters = new ArrayList<>();
+        addIfNotNull(filters, DuplicateMessageTurboFilter.get(environment));
+        addIfNotNull(filters, RateLimitTurboFilter.get(environment));
+        addIfNotNull(filters, RequestDebugTurboFilter.get(environment));
+        TurboFilter filter = null;
+        if (!filters.isEmpty()) {
+            filter = (filters.size() != 1) ? new CompositeTurboFilter(filters) : filters.get(0);
+            filter.setContext(getLoggerContext());
+            filter.start();
+        }
+        this.suppressionGate.setDelegate(getLoggerContext(), filter);
+    }
+
+    private static <T> void addIfNotNull(List<T> list, T element) {
+        if (element != null) {
+            list.add(element);
+        }
+    }
+
+    private synchronized void closeLoggerConfigurationIndex() {
+        if (this.loggerConfigurationIndex != null) {
+            this.loggerConfigurationIndex.close();
+            this.loggerConfigurationIndex = null;
+        }
+    }
+
+    private synchronized void stopWatching() {
+        if (this.configurationWatcher != null) {
+            this.configurationWatcher.close();
+            this.configurationWatcher = null;
+        }
+    }
+
+    /**
+     * Prepare the context for configuration by stopping and resetting it. Within
+     * {@link #initialize} the properties resolved up front are reused and the context is
+     * reset at most once, however many configuration steps follow.
+     * @param initializationContext the initialization context
+     * @param logFile the log file or {@code null}
+     * @return the resolved logging properties
+     */
+    private Map<String, String> prepare(LoggingInitializationContext initializationContext, LogFile logFile) {
+        Map<String, String> properties = (this.resolvedProperties != null) ? this.resolvedProperties
+                : resolveProperties(initializationContext, logFile);
+        if (!this.contextReset) {
+            LoggerContext loggerContext = getLoggerContext();
+            stopAndReset(loggerContext);
+            putInitializationContextObjects(loggerContext, initializationContext);
+            this.contextReset = this.resolvedProperties != null;
+        }
+        return properties;
+    }
+
+    /**
+     * Resolve the logging properties and apply them as system properties.
+     * @param initializationContext the initialization context
+     * @param logFile the log file or {@code null}
+     * @return the resolved logging properties
+     */
+    private Map<String, String> resolveProperties(LoggingInitializationContext initializationContext,
+                                                  LogFile logFile) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        if (initializationContext != null) {
+            StartupStep step = getApplicationStartup().start("spring.boot.logging.resolve-properties");
+            Environment environment = initializationContext.getEnvironment();
+            new LogbackLoggingSystem15Properties(environment, getDefaultValueResolver(environment), properties::put)
+                    .apply(logFile);
+            properties.forEach((name, value) -> {
+                if (System.getProperty(name) == null && value != null) {
+                    System.setProperty(name, value);
+                }
+            });
+            step.end();
+        }
+        return properties;
     }
 
     private boolean initializeFromAotGeneratedArtifactsIfPossible(LoggingInitializationContext initializationContext,
                                                                   LogFile logFile) {
-        if (initializationContext != null) {
-            applySystemProperties(initializationContext.getEnvironment(), logFile);
+        if (!SpringBootJoran15Configurator.hasAotGeneratedArtifacts()) {
+            return false;
         }
+        prepare(initializationContext, logFile);
         LoggerContext loggerContext = getLoggerContext();
-        stopAndReset(loggerContext);
-        withLoggingSuppressed(() -> putInitializationContextObjects(loggerContext, initializationContext));
         SpringBootJoran15Configurator configurator = new SpringBootJoran15Configurator(initializationContext);
         configurator.setContext(loggerContext);
+        configurator.setApplicationStartup(getApplicationStartup());
         boolean configuredUsingAotGeneratedArtifacts = configurator.configureUsingAotGeneratedArtifacts();
         if (configuredUsingAotGeneratedArtifacts) {
             reportConfigurationErrorsIfNecessary(loggerContext);
         }
+        else {
+            // Start the fallback configuration from a freshly reset context
+            this.contextReset = false;
+        }
         return configuredUsingAotGeneratedArtifacts;
     }
 
     @Override
     protected void loadDefaults(LoggingInitializationContext initializationContext, LogFile logFile) {
         LoggerContext loggerContext = getLoggerContext();
-        stopAndReset(loggerContext);
+        Map<String, String> properties = prepare(initializationContext, logFile);
         withLoggingSuppressed(() -> {
-            putInitializationContextObjects(loggerContext, initializationContext);
             boolean debug = Boolean.getBoolean("logback.debug");
             if (debug) {
                 StatusListenerConfigHelper.addOnConsoleListenerInstance(loggerContext, new OnConsoleStatusListener());
             }
-            Environment environment = initializationContext.getEnvironment();
-            // Apply system properties directly in case the same JVM runs multiple apps
-            new LogbackLoggingSystem15Properties(environment, getDefaultValueResolver(environment),
-                    loggerContext::putProperty)
-                    .apply(logFile);
-            LogbackConfigurator configurator = debug ? new DebugLogbackConfigurator(loggerContext)
-                    : new LogbackConfigurator(loggerContext);
+            // Apply properties directly in case the same JVM runs multiple apps
+            properties.forEach(loggerContext::putProperty);
+            Environment environment = (initializationContext != null) ? initializationContext.getEnvironment() : null;
+            DefaultFileAppenderReplacement fileAppenderReplacement = DefaultFileAppenderReplacement.get(environment);
+            LogbackConfigurator configurator = debug
+                    ? new DebugLogback15Configurator(loggerContext, fileAppenderReplacement)
+                    : new Logback15Configurator(loggerContext, fileAppenderReplacement);
+            StartupStep step = getApplicationStartup().start("spring.boot.logging.logback.default-configuration");
             new DefaultLogbackConfiguration(logFile).apply(configurator);
+            if (fileAppenderReplacement != null) {
+                fileAppenderReplacement.apply(loggerContext);
+            }
+            AsyncDefaultAppenders asyncAppenders = AsyncDefaultAppenders.get(environment);
+            if (asyncAppenders != null) {
+                asyncAppenders.apply(loggerContext);
+            }
+            step.end();
             loggerContext.setPackagingDataEnabled(true);
-            loggerContext.start();
+            start(loggerContext);
         });
     }
 
@@ -241,21 +620,72 @@ public class LogbackLogging15System extends AbstractLoggingSystem15{
     protected void loadConfiguration(LoggingInitializationContext initializationContext, String location,
                                      LogFile logFile) {
         LoggerContext loggerContext = getLoggerContext();
-        stopAndReset(loggerContext);
+        Map<String, String> properties = prepare(initializationContext, logFile);
         withLoggingSuppressed(() -> {
-            putInitializationContextObjects(loggerContext, initializationContext);
-            if (initializationContext != null) {
-                applySystemProperties(initializationContext.getEnvironment(), logFile);
-            }
             try {
                 configureByResourceUrl(initializationContext, loggerContext, ResourceUtils.getURL(location));
             }
             catch (Exception ex) {
                 throw new IllegalStateException("Could not initialize Logback logging from " + location, ex);
             }
-            loggerContext.start();
+            start(loggerContext);
         });
         reportConfigurationErrorsIfNecessary(loggerContext);
+        loggerContext.putObject(CONFIGURATION_LOCATION_KEY, location);
+        String fingerprint = fingerprint(initializationContext, properties, location, logFile);
+        if (fingerprint != null) {
+            loggerContext.putObject(FINGERPRINT_KEY, fingerprint);
+        }
+    }
+
+    /**
+     * Return a fingerprint of everything that a configuration loaded from the given
+     * location depends on: its content, the resolved logging properties, the log file, the
+     * profiles and, as of the last time it was loaded, the content of its includes and the
+     * values of its {@code <springProperty>} sources.
+     * @param initializationContext the initialization context
+     * @param properties the resolved logging properties
+     * @param location the location of the configuration
+     * @param logFile the log file or {@code null}
+     * @return the fingerprint or {@code null} if the configuration cannot be read
+     */
+    private String fingerprint(LoggingInitializationContext initializationContext, Map<String, String> properties,
+                               String location, LogFile logFile) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            updateDigest(digest, location);
+            try (InputStream inputStream = ResourceUtils.getURL(location).openStream()) {
+                digest.update(inputStream.readAllBytes());
+            }
+            updateDigest(digest, String.valueOf(logFile));
+            new TreeMap<>(properties).forEach((name, value) -> {
+                updateDigest(digest, name);
+                updateDigest(digest, String.valueOf(value));
+            });
+            Environment environment = (initializationContext != null) ? initializationContext.getEnvironment()
+                    : null;
+            if (environment != null) {
+                for (String profile : environment.getActiveProfiles()) {
+                    updateDigest(digest, profile);
+                }
+                updateDigest(digest, "");
+                for (String profile : environment.getDefaultProfiles()) {
+                    updateDigest(digest, profile);
+                }
+                if (getLoggerContext().getObject(MODEL_DEPENDENCIES_KEY) instanceof ModelDependencies dependencies) {
+                    dependencies.resolve(environment).forEach((value) -> updateDigest(digest, value));
+                }
+            }
+            return ModelCache.toHex(digest.digest());
+        }
+        catch (IOException | NoSuchAlgorithmException ex) {
+            return null;
+        }
+    }
+
+    private void updateDigest(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
     }
 
     private void reportConfigurationErrorsIfNecessary(LoggerContext loggerContext) {
@@ -284,14 +714,41 @@ public class LogbackLogging15System extends AbstractLoggingSystem15{
 
     private void configureByResourceUrl(LoggingInitializationContext initializationContext, LoggerContext loggerContext,
                                         URL url) throws JoranException {
-        JoranConfigurator configurator = new SpringBootJoranConfigurator(initializationContext);
+        SpringBootJoran15Configurator configurator = new SpringBootJoran15Configurator(initializationContext);
         configurator.setContext(loggerContext);
-        configurator.doConfigure(url);
+        configurator.setApplicationStartup(getApplicationStartup());
+        ModelCache modelCache = (initializationContext != null)
+                ? ModelCache.get(initializationContext.getEnvironment()) : null;
+        if (modelCache != null) {
+            configurator.doConfigure(url, modelCache);
+        }
+        else {
+            configurator.doConfigure(url);
+        }
+        ModelDependencies modelDependencies = configurator.getModelDependencies();
+        if (modelDependencies != null) {
+            loggerContext.putObject(MODEL_DEPENDENCIES_KEY, modelDependencies);
+        }
+    }
+
+    private void start(LoggerContext loggerContext) {
+        StartupStep step = getApplicationStartup().start("spring.boot.logging.logback.start");
+        try {
+            loggerContext.start();
+        }
+        finally {
+            step.end();
+        }
     }
 
     private void stopAndReset(LoggerContext loggerContext) {
         loggerContext.stop();
         loggerContext.reset();
+        this.suppressionGate.reattach(loggerContext);
+        LoggerConfigurationIndex loggerConfigurationIndex = this.loggerConfigurationIndex;
+        if (loggerConfigurationIndex != null && loggerConfigurationIndex.getLoggerContext() == loggerContext) {
+            loggerConfigurationIndex.reattach();
+        }
         if (isBridgeHandlerInstalled()) {
             addLevelChangePropagator(loggerContext);
         }
@@ -315,22 +772,42 @@ public class LogbackLogging15System extends AbstractLoggingSystem15{
 
     @Override
     public void cleanUp() {
+        stopWatching();
+        closeLoggerConfigurationIndex();
+        this.logLevelOverrides.close();
+        this.levelJournal = null;
+        this.externalLevels.clear();
+        synchronized (this.deferredLevelsMonitor) {
+            this.deferredLevels = null;
+        }
+        this.earlyEventBuffer = null;
         LoggerContext context = getLoggerContext();
         markAsUninitialized(context);
+        // A later initialization must not mistake this configuration for its own
+        context.removeObject(FINGERPRINT_KEY);
+        context.removeObject(MODEL_DEPENDENCIES_KEY);
+        context.removeObject(CONFIGURATION_LOCATION_KEY);
         super.cleanUp();
         if (isBridgeHandlerAvailable()) {
             removeJdkLoggingBridgeHandler();
         }
         context.getStatusManager().clear();
-        context.getTurboFilterList().remove(SUPPRESS_ALL_FILTER);
+        this.suppressionGate.detach();
     }
 
     @Override
     protected void reinitialize(LoggingInitializationContext initializationContext) {
         LoggerContext loggerContext = getLoggerContext();
-        loggerContext.reset();
+        String location = getSelfInitializationConfig();
+        Map<String, String> properties = (this.resolvedProperties != null) ? this.resolvedProperties
+                : resolveProperties(initializationContext, null);
+        String fingerprint = fingerprint(initializationContext, properties, location, null);
+        if (fingerprint != null && fingerprint.equals(loggerContext.getObject(FINGERPRINT_KEY))) {
+            // Nothing that the configuration depends on has changed
+            return;
+        }
         loggerContext.getStatusManager().clear();
-        loadConfiguration(initializationContext, getSelfInitializationConfig(), null);
+        loadConfiguration(initializationContext, location, null);
     }
 
     private void putInitializationContextObjects(LoggerContext loggerContext,
@@ -341,16 +818,61 @@ public class LogbackLogging15System extends AbstractLoggingSystem15{
 
     @Override
     public List<LoggerConfiguration> getLoggerConfigurations() {
+        applyDeferredLogLevels();
         List<LoggerConfiguration> result = new ArrayList<>();
-        for (ch.qos.logback.classic.Logger logger : getLoggerContext().getLoggerList()) {
-            result.add(getLoggerConfiguration(logger));
-        }
-        result.sort(CONFIGURATION_COMPARATOR);
+        getLoggerConfigurationIndex().forEach(null, 0, Integer.MAX_VALUE,
+                (logger) -> result.add(getLoggerConfiguration(logger)));
         return result;
     }
 
+    @Override
+    public LoggerConfigurationPage getLoggerConfigurations(String prefix, int offset, int limit) {
+        Assert.isTrue(offset >= 0, "Offset must not be negative");
+        Assert.isTrue(limit >= 0, "Limit must not be negative");
+        applyDeferredLogLevels();
+        LoggerConfigurationIndex index = getLoggerConfigurationIndex();
+        long version = index.getVersion();
+        List<LoggerConfiguration> configurations = new ArrayList<>(Math.min(limit, 256));
+        int total = index.forEach(prefix, offset, limit,
+                (logger) -> configurations.add(getLoggerConfiguration(logger)));
+        Map<String, LogLevelOverride> overrides = new LinkedHashMap<>();
+        if (!this.logLevelOverrides.isEmpty()) {
+            for (LoggerConfiguration configuration : configurations) {
+                LogLevelOverride override = this.logLevelOverrides.get(configuration.getName());
+                if (override != null) {
+                    overrides.put(configuration.getName(), override);
+                }
+            }
+        }
+        return new LoggerConfigurationPage(configurations, offset, total, version, overrides);
+    }
+
+    @Override
+    public long getLoggerConfigurationsVersion() {
+        return getLoggerConfigurationIndex().getVersion();
+    }
+
+    private LoggerConfigurationIndex getLoggerConfigurationIndex() {
+        LoggerContext loggerContext = getLoggerContext();
+        LoggerConfigurationIndex index = this.loggerConfigurationIndex;
+        if (index == null || index.getLoggerContext() != loggerContext) {
+            synchronized (this) {
+                index = this.loggerConfigurationIndex;
+                if (index == null || index.getLoggerContext() != loggerContext) {
+                    if (index != null) {
+                        index.close();
+                    }
+                    index = new LoggerConfigurationIndex(loggerContext);
+                    this.loggerConfigurationIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
     @Override
     public LoggerConfiguration getLoggerConfiguration(String loggerName) {
+        applyDeferredLogLevels();
         String name = getLoggerName(loggerName);
         LoggerContext loggerContext = getLoggerContext();
         return getLoggerConfiguration(loggerContext.exists(name));
@@ -380,15 +902,151 @@ public class LogbackLogging15System extends AbstractLoggingSystem15{
 
     @Override
     public void setLogLevel(String loggerName, LogLevel level) {
+        String name = getLoggerName(loggerName);
+        this.logLevelOverrides.cancel(name);
+        if (!deferLogLevel(name, level)) {
+            applyLogLevel(name, level);
+        }
+        this.externalLevels.put(name, level);
+        LevelJournal levelJournal = this.levelJournal;
+        if (levelJournal != null) {
+            levelJournal.record(Collections.singletonMap(name, level));
+        }
+    }
+
+    /**
+     * Sets the logging level for a given logger until the given time to live has
+     * elapsed, after which the level that was configured before is restored. The
+     * override is discarded without restoring anything if the level is changed again
+     * before it expires.
+     * @param loggerName the name of the logger to set ({@code null} can be used for the
+     * root logger)
+     * @param level the log level
+     * @param timeToLive how long the level should be in effect
+     * @return the override
+     */
+    public LogLevelOverride setLogLevel(String loggerName, LogLevel level, Duration timeToLive) {
+        applyDeferredLogLevels();
+        LogLevelOverride override = this.logLevelOverrides.override(getLoggerName(loggerName), level, timeToLive);
+        LevelJournal levelJournal = this.levelJournal;
+        if (levelJournal != null) {
+            levelJournal.record(override);
+        }
+        return override;
+    }
+
+    /**
+     * Return the log levels that are currently overridden with a time to live.
+     * @return the active overrides
+     * @see #setLogLevel(String, LogLevel, Duration)
+     */
+    public List<LogLevelOverride> getLogLevelOverrides() {
+        return this.logLevelOverrides.getAll();
+    }
+
+    private void applyLogLevel(String loggerName, LogLevel level) {
         ch.qos.logback.classic.Logger logger = getLogger(loggerName);
         if (logger != null) {
             logger.setLevel(LEVELS.convertSystemToNative(level));
         }
     }
 
+    private LogLevel getConfiguredLevel(String loggerName) {
+        return LEVELS.convertNativeToSystem(getLogger(loggerName).getLevel());
+    }
+
+    private boolean hasConfiguredLevel(String loggerName, LogLevel level) {
+        return getLogger(loggerName).getLevel() == LEVELS.convertSystemToNative(level);
+    }
+
+    /**
+     * Sets the given levels with the propagation to {@code java.util.logging} suspended,
+     * then propagates every changed level in a single pass. Levels are applied to the
+     * deepest loggers first so that recomputing the effective level of descendants stops
+     * at loggers that have already been given their own level.
+     */
+    @Override
+    public void setLogLevels(Map<String, LogLevel> levels) {
+        Assert.notNull(levels, "Levels must not be null");
+        applyDeferredLogLevels();
+        Map<String, LogLevel> named = new LinkedHashMap<>();
+        levels.forEach((loggerName, level) -> {
+            String name = getLoggerName(loggerName);
+            this.logLevelOverrides.cancel(name);
+            named.put(name, level);
+        });
+        applyLogLevels(named);
+        this.externalLevels.putAll(named);
+        LevelJournal levelJournal = this.levelJournal;
+        if (levelJournal != null) {
+            levelJournal.record(named);
+        }
+    }
+
+    private void applyLogLevels(Map<String, LogLevel> levels) {
+        LoggerContext loggerContext = getLoggerContext();
+        List<LevelChangePropagator> propagators = new ArrayList<>();
+        for (LoggerContextListener listener : loggerContext.getCopyOfListenerList()) {
+            if (listener instanceof LevelChangePropagator propagator) {
+                propagators.add(propagator);
+                loggerContext.removeListener(propagator);
+            }
+        }
+        List<ch.qos.logback.classic.Logger> changed = new ArrayList<>(levels.size());
+        List<String> names = new ArrayList<>(levels.keySet());
+        names.sort(Comparator.comparingInt(this::depth).reversed());
+        try {
+            for (String name : names) {
+                ch.qos.logback.classic.Logger logger = getLogger(name);
+                Level level = LEVELS.convertSystemToNative(levels.get(name));
+                if (logger.getLevel() != level) {
+                    logger.setLevel(level);
+                    changed.add(logger);
+                }
+            }
+        }
+        finally {
+            propagators.forEach(loggerContext::addListener);
+            if (!propagators.isEmpty()) {
+                propagateToJul(propagators.get(0), changed);
+            }
+        }
+    }
+
+    private void propagateToJul(LevelChangePropagator propagator, List<ch.qos.logback.classic.Logger> loggers) {
+        for (int i = loggers.size() - 1; i >= 0; i--) {
+            ch.qos.logback.classic.Logger logger = loggers.get(i);
+            if (logger.getLevel() != null) {
+                propagator.onLevelChange(logger, logger.getLevel());
+            }
+            else {
+                JULHelper.asJULLogger(logger).setLevel(null);
+            }
+        }
+    }
+
+    private int depth(String loggerName) {
+        String name = getLoggerName(loggerName);
+        if (ROOT_LOGGER_NAME.equals(name)) {
+            return -1;
+        }
+        int depth = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '.' || c == '$') {
+                depth++;
+            }
+        }
+        return depth;
+    }
+
+
     @Override
     public Runnable getShutdownHandler() {
-        return () -> getLoggerContext().stop();
+        return () -> {
+            stopWatching();
+            getLoggerContext().stop();
+        };
     }
 
     private ch.qos.logback.classic.Logger getLogger(String name) {
@@ -443,7 +1101,8 @@ public class LogbackLogging15System extends AbstractLoggingSystem15{
     }
 
     private void markAsInitialized(LoggerContext loggerContext) {
-        loggerContext.putObject(LoggingSystem.class.getName(), new Object());
+        // The logging system itself rather than a marker so that listeners can find it
+        loggerContext.putObject(LoggingSystem.class.getName(), this);
     }
 
     private void markAsUninitialized(LoggerContext loggerContext) {
@@ -456,13 +1115,12 @@ public class LogbackLogging15System extends AbstractLoggingSystem15{
 
 
     private void withLoggingSuppressed(Runnable action) {
-        TurboFilterList turboFilters = getLoggerContext().getTurboFilterList();
-        turboFilters.add(SUPPRESS_ALL_FILTER);
+        this.suppressionGate.suppress(getLoggerContext());
         try {
             action.run();
         }
         finally {
-            turboFilters.remove(SUPPRESS_ALL_FILTER);
+            this.suppressionGate.unsuppress();
         }
     }
 
@@ -470,6 +1128,67 @@ public class LogbackLogging15System extends AbstractLoggingSystem15{
         this.statusPrinter.setPrintStream(stream);
     }
 
+    /**
+     * {@link LogbackConfigurator} that does not rely on {@code getConfigurationLock()},
+     * which Logback 1.5 has removed from {@link LoggerContext}, and that leaves an
+     * appender that is going to be replaced unstarted.
+     */
+    private static final class Logback15Configurator extends LogbackConfigurator {
+
+        private final DefaultFileAppenderReplacement fileAppenderReplacement;
+
+        Logback15Configurator(LoggerContext context, DefaultFileAppenderReplacement fileAppenderReplacement) {
+            super(context);
+            this.fileAppenderReplacement = fileAppenderReplacement;
+        }
+
+        @Override
+        Object getConfigurationLock() {
+            return getContext();
+        }
+
+        @Override
+        void appender(String name, Appender<?> appender) {
+            if (this.fileAppenderReplacement != null && this.fileAppenderReplacement.replaces(name, appender)) {
+                appender.setName(name);
+                return;
+            }
+            super.appender(name, appender);
+        }
+
+    }
+
+    /**
+     * {@link DebugLogbackConfigurator} that does not rely on
+     * {@code getConfigurationLock()}, which Logback 1.5 has removed from
+     * {@link LoggerContext}, and that leaves an appender that is going to be replaced
+     * unstarted.
+     */
+    private static final class DebugLogback15Configurator extends DebugLogbackConfigurator {
+
+        private final DefaultFileAppenderReplacement fileAppenderReplacement;
+
+        DebugLogback15Configurator(LoggerContext context, DefaultFileAppenderReplacement fileAppenderReplacement) {
+            super(context);
+            this.fileAppenderReplacement = fileAppenderReplacement;
+        }
+
+        @Override
+        Object getConfigurationLock() {
+            return getContext();
+        }
+
+        @Override
+        public void appender(String name, Appender<?> appender) {
+            if (this.fileAppenderReplacement != null && this.fileAppenderReplacement.replaces(name, appender)) {
+                appender.setName(name);
+                return;
+            }
+            super.appender(name, appender);
+        }
+
+    }
+
     /**
      * {@link LoggingSystemFactory} that returns {@link LogbackLoggingSystem} if possible.
      */
@@ -17,11 +17,13 @@
 package org.springframework.boot.logging.logback;
 
 import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import ch.qos.logback.core.util.FileSize;
 
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.boot.logging.LogFile;
 import org.springframework.boot.logging.LoggingSystem15Properties;
 import org.springframework.boot.logging.LoggingSystemProperties;
@@ -41,6 +43,20 @@ import org.springframework.util.unit.DataSize;
  */
 public class LogbackLoggingSystem15Properties extends LoggingSystem15Properties {
 
+    /**
+     * System property that contains the maximum number of milliseconds that events may
+     * stay buffered before the log file is flushed.
+     * @see GroupCommitRollingFileAppender
+     */
+    public static final String FILE_FLUSH_INTERVAL = "LOGBACK_FILE_FLUSH_INTERVAL";
+
+    /**
+     * System property that contains the number of buffered bytes after which the log file
+     * is flushed.
+     * @see GroupCommitRollingFileAppender
+     */
+    public static final String FILE_FLUSH_BYTES = "LOGBACK_FILE_FLUSH_BYTES";
+
     private static final boolean JBOSS_LOGGING_PRESENT = ClassUtils.isPresent("org.jboss.logging.Logger",
             LogbackLoggingSystemProperties.class.getClassLoader());
 
@@ -81,6 +97,7 @@ public class LogbackLoggingSystem15Properties extends LoggingSystem15Properties
         super.apply(logFile, resolver);
         applyJBossLoggingProperties();
         applyRollingPolicyProperties(resolver);
+        applyFileFlushProperties(resolver);
     }
 
     private void applyJBossLoggingProperties() {
@@ -97,6 +114,17 @@ public class LogbackLoggingSystem15Properties extends LoggingSystem15Properties
         applyRollingPolicy(RollingPolicySystemProperty.MAX_HISTORY, resolver);
     }
 
+    private void applyFileFlushProperties(PropertyResolver resolver) {
+        Duration flushInterval = getProperty(resolver, "logging.logback.file.flush-interval", Duration.class);
+        if (flushInterval != null) {
+            setSystemProperty(FILE_FLUSH_INTERVAL, String.valueOf(flushInterval.toMillis()));
+        }
+        DataSize flushBytes = getProperty(resolver, "logging.logback.file.flush-bytes", DataSize.class);
+        if (flushBytes != null) {
+            setSystemProperty(FILE_FLUSH_BYTES, String.valueOf(flushBytes.toBytes()));
+        }
+    }
+
     private void applyRollingPolicy(RollingPolicySystemProperty property, PropertyResolver resolver) {
         applyRollingPolicy(property, resolver, String.class);
     }
@@ -117,6 +145,9 @@ public class LogbackLoggingSystem15Properties extends LoggingSystem15Properties
             return resolver.getProperty(key, type);
         }
         catch (ConversionFailedException | ConverterNotFoundException ex) {
+            if (type == Duration.class) {
+                return (T) DurationStyle.detectAndParse(resolver.getProperty(key));
+            }
             if (type != DataSize.class) {
                 throw ex;
             }
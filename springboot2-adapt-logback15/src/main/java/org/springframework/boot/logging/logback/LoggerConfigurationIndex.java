@@ -0,0 +1,219 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Index of the loggers of a {@link LoggerContext}, sorted by name, that avoids copying
+ * and sorting every logger whenever the logger configurations are read. Logback offers
+ * no notification when a logger is created, so new loggers are picked up on read when
+ * the size of the context's logger cache has changed. Level changes are tracked as a
+ * {@link LoggerContextListener} and bump the {@link #getVersion() version}. Stopping the
+ * context removes its listeners, after which the index has to be
+ * {@link #reattach reattached}.
+ */
+class LoggerConfigurationIndex implements LoggerContextListener {
+
+    private static final Field LOGGER_CACHE_FIELD = findLoggerCacheField();
+
+    private final LoggerContext loggerContext;
+
+    private final NavigableMap<String, Logger> loggers = new ConcurrentSkipListMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile int indexedLoggerCount = -1;
+
+    private final AtomicLong structureVersion = new AtomicLong();
+
+    private volatile MatchCount matchCount;
+
+    LoggerConfigurationIndex(LoggerContext loggerContext) {
+        this.loggerContext = loggerContext;
+        loggerContext.addListener(this);
+    }
+
+    private static Field findLoggerCacheField() {
+        try {
+            Field field = ReflectionUtils.findField(LoggerContext.class, "loggerCache", Map.class);
+            if (field != null) {
+                ReflectionUtils.makeAccessible(field);
+            }
+            return field;
+        }
+        catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    LoggerContext getLoggerContext() {
+        return this.loggerContext;
+    }
+
+    /**
+     * Return a version that changes whenever a logger has been created or a level has
+     * been changed.
+     * @return the version
+     */
+    long getVersion() {
+        refresh();
+        return this.version.get();
+    }
+
+    /**
+     * Visit the loggers in the hierarchy of the given prefix, root logger first and then
+     * ordered by name. Only the loggers up to the end of the page are walked, the total
+     * is counted once per prefix until loggers are added to the index.
+     * @param prefix the logger name prefix or {@code null} for every logger
+     * @param offset the number of matching loggers to skip
+     * @param limit the maximum number of loggers to visit
+     * @param action the action to invoke for each visited logger
+     * @return the total number of matching loggers
+     */
+    int forEach(String prefix, int offset, int limit, Consumer<Logger> action) {
+        refresh();
+        String key = StringUtils.hasLength(prefix) ? prefix : "";
+        long structureVersion = this.structureVersion.get();
+        matching(key).skip(offset).limit(limit).forEach(action);
+        MatchCount matchCount = this.matchCount;
+        if (matchCount == null || matchCount.structureVersion != structureVersion
+                || !matchCount.prefix.equals(key)) {
+            matchCount = new MatchCount(key, structureVersion, (int) matching(key).count());
+            this.matchCount = matchCount;
+        }
+        return matchCount.count;
+    }
+
+    private Stream<Logger> matching(String prefix) {
+        if (prefix.isEmpty()) {
+            return Stream.concat(Stream.of(this.loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)),
+                    this.loggers.values().stream());
+        }
+        // Nested class loggers ('$') sort before package members ('.')
+        return Stream.of(Stream.ofNullable(this.loggers.get(prefix)),
+                this.loggers.subMap(prefix + "$", true, prefix + "%", false).values().stream(),
+                this.loggers.subMap(prefix + ".", true, prefix + "/", false).values().stream())
+            .flatMap(Function.identity());
+    }
+
+    private void refresh() {
+        Map<String, Logger> loggerCache = getLoggerCache();
+        int loggerCount = (loggerCache != null) ? loggerCache.size() : -1;
+        if (loggerCount != -1 && loggerCount == this.indexedLoggerCount) {
+            return;
+        }
+        synchronized (this) {
+            Collection<Logger> loggers = (loggerCache != null) ? loggerCache.values()
+                    : this.loggerContext.getLoggerList();
+            boolean added = false;
+            for (Logger logger : loggers) {
+                if (logger != this.loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)
+                        && this.loggers.putIfAbsent(logger.getName(), logger) == null) {
+                    added = true;
+                }
+            }
+            this.indexedLoggerCount = loggerCount;
+            if (added) {
+                this.structureVersion.incrementAndGet();
+                this.version.incrementAndGet();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Logger> getLoggerCache() {
+        return (LOGGER_CACHE_FIELD != null)
+                ? (Map<String, Logger>) ReflectionUtils.getField(LOGGER_CACHE_FIELD, this.loggerContext) : null;
+    }
+
+    /**
+     * Add the index back to its context after the context has been stopped and reset,
+     * and rebuild it on the next read.
+     */
+    synchronized void reattach() {
+        if (!this.loggerContext.getCopyOfListenerList().contains(this)) {
+            this.loggerContext.addListener(this);
+        }
+        this.loggers.clear();
+        this.indexedLoggerCount = -1;
+        this.structureVersion.incrementAndGet();
+        this.version.incrementAndGet();
+    }
+
+    void close() {
+        this.loggerContext.removeListener(this);
+    }
+
+    @Override
+    public boolean isResetResistant() {
+        return true;
+    }
+
+    @Override
+    public void onStart(LoggerContext context) {
+    }
+
+    @Override
+    public void onReset(LoggerContext context) {
+        this.version.incrementAndGet();
+    }
+
+    @Override
+    public void onStop(LoggerContext context) {
+    }
+
+    @Override
+    public void onLevelChange(Logger logger, Level level) {
+        this.version.incrementAndGet();
+    }
+
+    /**
+     * The number of loggers matching a prefix, as counted for a set of indexed loggers.
+     */
+    private static final class MatchCount {
+
+        private final String prefix;
+
+        private final long structureVersion;
+
+        private final int count;
+
+        private MatchCount(String prefix, long structureVersion, int count) {
+            this.prefix = prefix;
+            this.structureVersion = structureVersion;
+            this.count = count;
+        }
+
+    }
+
+}
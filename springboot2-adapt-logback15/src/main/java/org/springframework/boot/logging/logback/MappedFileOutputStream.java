@@ -0,0 +1,166 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link OutputStream} that writes a file through {@link MappedByteBuffer} windows of a
+ * fixed size, mapping the next window when the current one is full. Writes are plain
+ * memory copies into the page cache, so {@link #flush()} does nothing: what has been
+ * written survives the process once {@code write} returns.
+ * <p>
+ * Mapping a window extends the file to the end of the window. The file is truncated to
+ * the bytes actually written on {@link #close()}, and a file that was left padded with
+ * zeros by a crash is {@link #recover recovered} to the same length.
+ * <p>
+ * A {@link MappedByteBuffer} cannot be unmapped explicitly and stays mapped until it is
+ * garbage collected. On Windows a file cannot be truncated or renamed while it is
+ * mapped, so the truncate on {@link #close()} and a subsequent rename of the file fail
+ * there.
+ *
+ * @see MappedRollingFileAppender
+ */
+class MappedFileOutputStream extends OutputStream {
+
+    private static final int SCAN_BLOCK_SIZE = 8192;
+
+    private final FileChannel channel;
+
+    private final long windowSize;
+
+    private MappedByteBuffer window;
+
+    private long windowStart;
+
+    MappedFileOutputStream(File file, boolean append, long windowSize) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.windowSize = Math.max(1, Math.min(windowSize, Integer.MAX_VALUE));
+        try {
+            long position = append ? logicalLength(this.channel) : 0;
+            this.channel.truncate(position);
+            map(position);
+        }
+        catch (IOException ex) {
+            this.channel.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureRemaining();
+        this.window.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            ensureRemaining();
+            int count = Math.min(len, this.window.remaining());
+            this.window.put(b, off, count);
+            off += count;
+            len -= count;
+        }
+    }
+
+    private void ensureRemaining() throws IOException {
+        if (this.window == null) {
+            throw new IOException("Stream closed");
+        }
+        if (!this.window.hasRemaining()) {
+            map(this.windowStart + this.window.position());
+        }
+    }
+
+    private void map(long position) throws IOException {
+        this.window = this.channel.map(FileChannel.MapMode.READ_WRITE, position, this.windowSize);
+        this.windowStart = position;
+    }
+
+    /**
+     * Return the number of bytes written to the file.
+     * @return the length of the file
+     */
+    long length() {
+        return (this.window != null) ? this.windowStart + this.window.position() : 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.window == null) {
+            return;
+        }
+        long length = length();
+        try {
+            this.window.force();
+            this.window = null;
+            this.channel.truncate(length);
+        }
+        finally {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Truncate the zeros that a window left at the end of the given file if it has not
+     * been closed.
+     * @param file the file
+     * @throws IOException on I/O error
+     */
+    static void recover(File file) throws IOException {
+        if (!file.isFile()) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long length = logicalLength(channel);
+            if (length < channel.size()) {
+                channel.truncate(length);
+            }
+        }
+    }
+
+    private static long logicalLength(FileChannel channel) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(SCAN_BLOCK_SIZE);
+        long end = channel.size();
+        while (end > 0) {
+            long start = Math.max(0, end - SCAN_BLOCK_SIZE);
+            block.clear().limit((int) (end - start));
+            while (block.hasRemaining()) {
+                if (channel.read(block, start + block.position()) < 0) {
+                    break;
+                }
+            }
+            for (int i = block.position() - 1; i >= 0; i--) {
+                if (block.get(i) != 0) {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+}
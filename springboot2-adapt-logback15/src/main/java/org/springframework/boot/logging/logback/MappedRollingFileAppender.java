@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.rolling.SizeAndTimeBasedRollingPolicy;
+import ch.qos.logback.core.rolling.SizeBasedTriggeringPolicy;
+import ch.qos.logback.core.util.FileSize;
+import ch.qos.logback.core.util.FileUtil;
+import ch.qos.logback.core.util.OptionHelper;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * {@link RollingFileAppender} that writes the active file through memory-mapped windows
+ * instead of a {@code FileOutputStream}, so that appending an event is a memory copy
+ * rather than a {@code write} system call.
+ * <p>
+ * Unless {@link #setWindowSize set}, a window is as large as the
+ * {@link RollingPolicySystemProperty#MAX_FILE_SIZE max file size}, so that with a
+ * {@link SizeAndTimeBasedRollingPolicy} the file is rolled over when its first window is
+ * full. The file is truncated to the bytes written when it is closed, and when the
+ * appender starts, zeros left at the end of the active file by a process that did not
+ * close it are removed before its size is read. The {@link SizeBasedTriggeringPolicy}
+ * checks the length of the file, which includes the unwritten part of the window, and is
+ * therefore not supported, nor is prudent mode.
+ * <p>
+ * Windows is not supported: the last window of a closed file remains mapped until it is
+ * garbage collected, and Windows refuses to truncate or rename a mapped file, so the
+ * file would neither be truncated on close nor renamed on rollover.
+ *
+ * @param <E> the event type
+ * @see MappedFileOutputStream
+ */
+public class MappedRollingFileAppender<E> extends RollingFileAppender<E> {
+
+    private FileSize windowSize;
+
+    private long effectiveWindowSize;
+
+    @Override
+    public void start() {
+        if (getTriggeringPolicy() instanceof SizeBasedTriggeringPolicy) {
+            addError("SizeBasedTriggeringPolicy is not supported by " + getClass().getSimpleName()
+                    + ", use SizeAndTimeBasedRollingPolicy instead");
+            return;
+        }
+        if (isPrudent()) {
+            addError("Prudent mode is not supported by " + getClass().getSimpleName());
+            return;
+        }
+        this.effectiveWindowSize = determineWindowSize();
+        String file = getFile();
+        if (file != null && isAppend()) {
+            try {
+                MappedFileOutputStream.recover(new File(file));
+            }
+            catch (IOException ex) {
+                addError("Failed to recover file [" + file + "]", ex);
+            }
+        }
+        super.start();
+    }
+
+    private long determineWindowSize() {
+        if (this.windowSize != null) {
+            return this.windowSize.getSize();
+        }
+        String maxFileSize = OptionHelper.propertyLookup(
+                RollingPolicySystemProperty.MAX_FILE_SIZE.getEnvironmentVariableName(), getContext(), null);
+        if (maxFileSize != null) {
+            try {
+                return FileSize.valueOf(maxFileSize).getSize();
+            }
+            catch (IllegalArgumentException ex) {
+                addWarn("Ignoring invalid max file size [" + maxFileSize + "]");
+            }
+        }
+        return SizeBasedTriggeringPolicy.DEFAULT_MAX_FILE_SIZE;
+    }
+
+    @Override
+    public void openFile(String fileName) throws IOException {
+        this.streamWriteLock.lock();
+        try {
+            File file = new File(fileName);
+            if (!FileUtil.createMissingParentDirectories(file)) {
+                addError("Failed to create parent directories for [" + file.getAbsolutePath() + "]");
+            }
+            setOutputStream(new MappedFileOutputStream(file, this.append, this.effectiveWindowSize));
+        }
+        finally {
+            this.streamWriteLock.unlock();
+        }
+    }
+
+    /**
+     * Set the size of each memory-mapped window. Defaults to the max file size of the
+     * rolling policy system properties.
+     * @param windowSize the window size
+     */
+    public void setWindowSize(FileSize windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public FileSize getWindowSize() {
+        return this.windowSize;
+    }
+
+}
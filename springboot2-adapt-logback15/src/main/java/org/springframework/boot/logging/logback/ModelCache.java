@@ -0,0 +1,263 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.model.Model;
+import ch.qos.logback.core.model.processor.ModelInterpretationContext;
+import ch.qos.logback.core.status.WarnStatus;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Opt-in on-disk cache of processed Joran {@link Model models}, allowing
+ * {@link SpringBootJoran15Configurator} to skip XML parsing on restart when neither the
+ * configuration nor anything it depends on has changed. Entries are keyed by the
+ * configuration location, its content and the active profiles, and are only reused when
+ * the content of every {@code <include>} and the value of every
+ * {@code <springProperty>} source still match. Only the latest entry of each
+ * configuration location is kept, superseded entries are deleted when a new one is
+ * written.
+ *
+ * @see ModelBinaryFormat
+ */
+final class ModelCache {
+
+    /**
+     * Property used to enable the cache.
+     */
+    static final String ENABLED_PROPERTY = "logging.logback.model-cache.enabled";
+
+    /**
+     * Property used to configure the cache directory.
+     */
+    static final String DIRECTORY_PROPERTY = "logging.logback.model-cache.directory";
+
+    private static final int MAGIC = 0x4C424D43;
+
+    private static final int VERSION = 1;
+
+    private static final String ENTRY_SUFFIX = ".model";
+
+    private final Path directory;
+
+    private final Environment environment;
+
+    private ModelCache(Path directory, Environment environment) {
+        this.directory = directory;
+        this.environment = environment;
+    }
+
+    /**
+     * Return the {@link ModelCache} configured by the given environment or {@code null}
+     * if the cache has not been enabled.
+     * @param environment the environment
+     * @return the model cache or {@code null}
+     */
+    static ModelCache get(Environment environment) {
+        if (environment == null || !environment.getProperty(ENABLED_PROPERTY, Boolean.class, false)) {
+            return null;
+        }
+        String directory = environment.getProperty(DIRECTORY_PROPERTY);
+        Path path = StringUtils.hasText(directory) ? Paths.get(directory)
+                : Paths.get(System.getProperty("java.io.tmpdir"), "spring-boot-logback-model-cache");
+        return new ModelCache(path, environment);
+    }
+
+    /**
+     * Load the cached model for the given configuration.
+     * @param url the configuration location
+     * @param context the logback context
+     * @return the cached model or {@code null} if there is no valid entry
+     */
+    Model load(URL url, Context context) {
+        Path entry = null;
+        try {
+            entry = getEntry(url);
+            if (!Files.isRegularFile(entry)) {
+                return null;
+            }
+            try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(entry)))) {
+                if (input.readInt() != MAGIC || input.readUnsignedShort() != VERSION) {
+                    return null;
+                }
+                int includeCount = input.readInt();
+                for (int i = 0; i < includeCount; i++) {
+                    String location = input.readUTF();
+                    if (!input.readUTF().equals(ModelDependencies.digest(location))) {
+                        return null;
+                    }
+                }
+                int propertyCount = input.readInt();
+                for (int i = 0; i < propertyCount; i++) {
+                    String source = readNullableString(input);
+                    String defaultValue = readNullableString(input);
+                    if (!ModelDependencies.getProperty(this.environment, source, defaultValue)
+                        .equals(input.readUTF())) {
+                        return null;
+                    }
+                }
+                return ModelBinaryFormat.read(input, getClass().getClassLoader());
+            }
+        }
+        catch (Exception ex) {
+            context.getStatusManager().add(new WarnStatus("Ignoring logback model cache entry " + entry, this, ex));
+            return null;
+        }
+    }
+
+    /**
+     * Save the given processed model for the given configuration. Failures are reported
+     * as warnings and never prevent logging from being configured.
+     * @param url the configuration location
+     * @param model the processed model
+     * @param modelInterpretationContext the interpretation context used to process the
+     * model
+     */
+    void save(URL url, Model model, ModelInterpretationContext modelInterpretationContext) {
+        Path entry = null;
+        try {
+            entry = getEntry(url);
+            ModelDependencies dependencies = ModelDependencies.collect(model, modelInterpretationContext);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.writeInt(dependencies.getIncludes().size());
+            for (String include : dependencies.getIncludes()) {
+                output.writeUTF(include);
+                output.writeUTF(ModelDependencies.digest(include));
+            }
+            output.writeInt(dependencies.getSpringProperties().size());
+            for (SpringPropertyModel property : dependencies.getSpringProperties()) {
+                writeNullableString(output, property.getSource());
+                writeNullableString(output, property.getDefaultValue());
+                output.writeUTF(ModelDependencies.getProperty(this.environment, property.getSource(),
+                        property.getDefaultValue()));
+            }
+            output.write(ModelBinaryFormat.write(model));
+            output.flush();
+            write(entry, bytes.toByteArray());
+            deleteSupersededEntries(url, entry);
+        }
+        catch (Exception ex) {
+            modelInterpretationContext.addWarn("Unable to write logback model cache entry " + entry, ex);
+        }
+    }
+
+    private Path getEntry(URL url) throws IOException {
+        MessageDigest digest = createDigest();
+        try (InputStream input = url.openStream()) {
+            digest.update(input.readAllBytes());
+        }
+        digest.update((byte) 0);
+        digest.update(String.join(",", getProfiles()).getBytes(StandardCharsets.UTF_8));
+        return this.directory.resolve(getEntryPrefix(url) + toHex(digest.digest()) + ENTRY_SUFFIX);
+    }
+
+    private String getEntryPrefix(URL url) {
+        return toHex(createDigest().digest(url.toExternalForm().getBytes(StandardCharsets.UTF_8))) + "-";
+    }
+
+    private void deleteSupersededEntries(URL url, Path entry) throws IOException {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(this.directory,
+                getEntryPrefix(url) + "*" + ENTRY_SUFFIX)) {
+            for (Path candidate : entries) {
+                if (!candidate.equals(entry)) {
+                    Files.deleteIfExists(candidate);
+                }
+            }
+        }
+    }
+
+    private String[] getProfiles() {
+        String[] profiles = this.environment.getActiveProfiles();
+        profiles = (profiles.length > 0) ? profiles : this.environment.getDefaultProfiles();
+        profiles = profiles.clone();
+        Arrays.sort(profiles);
+        return profiles;
+    }
+
+    private void write(Path entry, byte[] content) throws IOException {
+        Files.createDirectories(this.directory);
+        Path temp = Files.createTempFile(this.directory, entry.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            try {
+                Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String readNullableString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static void writeNullableString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Return the lower-case hexadecimal representation of the given bytes.
+     * @param bytes the bytes
+     * @return the hexadecimal representation
+     */
+    static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.core.model.IncludeModel;
+import ch.qos.logback.core.model.Model;
+import ch.qos.logback.core.model.processor.ModelInterpretationContext;
+import ch.qos.logback.core.model.processor.ResourceHandlerBase;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What a processed configuration {@link Model} depends on besides its own content: the
+ * resolved location of every {@code <include>} and every {@code <springProperty>}, whose
+ * value is read from the {@link Environment}.
+ *
+ * @see ModelCache
+ */
+final class ModelDependencies {
+
+    /**
+     * Value used for an include that cannot be read or a property that has no value.
+     */
+    static final String MISSING = "";
+
+    private final Set<String> includes;
+
+    private final List<SpringPropertyModel> springProperties;
+
+    private ModelDependencies(Set<String> includes, List<SpringPropertyModel> springProperties) {
+        this.includes = includes;
+        this.springProperties = springProperties;
+    }
+
+    /**
+     * Collect the dependencies of the given processed model.
+     * @param model the processed model
+     * @param modelInterpretationContext the interpretation context used to process the
+     * model
+     * @return the dependencies
+     */
+    static ModelDependencies collect(Model model, ModelInterpretationContext modelInterpretationContext) {
+        Set<String> includes = new LinkedHashSet<>();
+        collectIncludes(model, new IncludeLocator(modelInterpretationContext), modelInterpretationContext, includes);
+        List<SpringPropertyModel> springProperties = new ArrayList<>();
+        collectSpringProperties(model, springProperties);
+        return new ModelDependencies(Collections.unmodifiableSet(includes),
+                Collections.unmodifiableList(springProperties));
+    }
+
+    private static void collectIncludes(Model model, IncludeLocator locator, ModelInterpretationContext context,
+                                        Set<String> includes) {
+        if (model instanceof IncludeModel includeModel) {
+            URL url = locator.locate(context, includeModel);
+            if (url != null) {
+                includes.add(url.toExternalForm());
+            }
+        }
+        for (Model submodel : model.getSubModels()) {
+            collectIncludes(submodel, locator, context, includes);
+        }
+    }
+
+    private static void collectSpringProperties(Model model, List<SpringPropertyModel> springProperties) {
+        if (model instanceof SpringPropertyModel propertyModel) {
+            springProperties.add(propertyModel);
+        }
+        for (Model submodel : model.getSubModels()) {
+            collectSpringProperties(submodel, springProperties);
+        }
+    }
+
+    Set<String> getIncludes() {
+        return this.includes;
+    }
+
+    List<SpringPropertyModel> getSpringProperties() {
+        return this.springProperties;
+    }
+
+    /**
+     * Return the current state of the dependencies: the location and content digest of
+     * every include followed by the value of every {@code <springProperty>}.
+     * @param environment the environment that property values are read from
+     * @return the current state
+     */
+    List<String> resolve(Environment environment) {
+        List<String> state = new ArrayList<>(this.includes.size() * 2 + this.springProperties.size());
+        for (String include : this.includes) {
+            state.add(include);
+            state.add(digest(include));
+        }
+        for (SpringPropertyModel property : this.springProperties) {
+            state.add(getProperty(environment, property.getSource(), property.getDefaultValue()));
+        }
+        return state;
+    }
+
+    /**
+     * Return the digest of the content at the given location.
+     * @param location the location
+     * @return the digest or {@link #MISSING} if the content cannot be read
+     */
+    static String digest(String location) {
+        try (InputStream input = new URL(location).openStream()) {
+            return ModelCache.toHex(MessageDigest.getInstance("SHA-256").digest(input.readAllBytes()));
+        }
+        catch (IOException ex) {
+            return MISSING;
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Return the value of a {@code <springProperty>} as it would be resolved now.
+     * @param environment the environment
+     * @param source the source property or {@code null}
+     * @param defaultValue the default value or {@code null}
+     * @return the value or {@link #MISSING}
+     */
+    static String getProperty(Environment environment, String source, String defaultValue) {
+        String value = (source != null) ? environment.getProperty(source, defaultValue) : defaultValue;
+        return (value != null) ? value : MISSING;
+    }
+
+    /**
+     * Resolves the location of an {@code <include>} using the same rules as Logback.
+     */
+    private static final class IncludeLocator extends ResourceHandlerBase {
+
+        IncludeLocator(ModelInterpretationContext modelInterpretationContext) {
+            super(modelInterpretationContext.getContext());
+        }
+
+        URL locate(ModelInterpretationContext modelInterpretationContext, IncludeModel includeModel) {
+            if (!checkAttributes(includeModel)) {
+                return null;
+            }
+            return getInputURL(modelInterpretationContext, includeModel);
+        }
+
+        @Override
+        public void handle(ModelInterpretationContext modelInterpretationContext, Model model) {
+        }
+
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts the appenders of a configuration concurrently on a bounded executor. Appenders
+ * that wrap other appenders, such as {@code AsyncAppender}, are only started once every
+ * appender submitted before them has started. File appenders start one at a time, as
+ * the check that keeps two of them from writing to the same file is not atomic. Failures
+ * are reported to the context's status manager, the same way as failures of appenders
+ * started by Logback itself.
+ */
+class ParallelAppenderStarter extends ContextAwareBase {
+
+    /**
+     * Property used to enable concurrent appender startup.
+     */
+    static final String ENABLED_PROPERTY = "logging.logback.parallel-appender-start.enabled";
+
+    /**
+     * Property used to configure the maximum number of threads used to start appenders.
+     */
+    static final String MAX_THREADS_PROPERTY = "logging.logback.parallel-appender-start.max-threads";
+
+    private static final int DEFAULT_MAX_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    private final int maxThreads;
+
+    private final ApplicationStartup applicationStartup;
+
+    private final List<PendingStart> pending = new ArrayList<>();
+
+    private final Object fileAppenderStartMonitor = new Object();
+
+    private ExecutorService executor;
+
+    private ParallelAppenderStarter(Context context, int maxThreads, ApplicationStartup applicationStartup) {
+        setContext(context);
+        this.maxThreads = maxThreads;
+        this.applicationStartup = applicationStartup;
+    }
+
+    /**
+     * Return a {@link ParallelAppenderStarter} if concurrent appender startup has been
+     * enabled in the given environment.
+     * @param context the logback context
+     * @param environment the environment or {@code null}
+     * @param applicationStartup the application startup used to record the step
+     * @return the starter or {@code null}
+     */
+    static ParallelAppenderStarter get(Context context, Environment environment,
+                                       ApplicationStartup applicationStartup) {
+        if (environment == null || !environment.getProperty(ENABLED_PROPERTY, Boolean.class, false)) {
+            return null;
+        }
+        int maxThreads = environment.getProperty(MAX_THREADS_PROPERTY, Integer.class, DEFAULT_MAX_THREADS);
+        return new ParallelAppenderStarter(context, Math.max(1, maxThreads), applicationStartup);
+    }
+
+    /**
+     * Start the given appender, either concurrently or, for appenders that wrap other
+     * appenders, after all pending starts have completed.
+     * @param appender the appender to start
+     */
+    void start(Appender<?> appender) {
+        if (appender instanceof AppenderAttachable) {
+            awaitPending();
+            appender.start();
+            return;
+        }
+        long startTime = System.nanoTime();
+        Future<?> future = getExecutor()
+            .submit((appender instanceof FileAppender) ? () -> startFileAppender(appender) : appender::start);
+        this.pending.add(new PendingStart(appender, future, startTime));
+    }
+
+    private void startFileAppender(Appender<?> appender) {
+        // The file name collision maps are checked and updated in separate steps
+        synchronized (this.fileAppenderStartMonitor) {
+            appender.start();
+        }
+    }
+
+    /**
+     * Wait for every submitted appender to start and release the executor.
+     */
+    void finish() {
+        try {
+            awaitPending();
+        }
+        finally {
+            if (this.executor != null) {
+                this.executor.shutdown();
+                this.executor = null;
+            }
+        }
+    }
+
+    private void awaitPending() {
+        if (this.pending.isEmpty()) {
+            return;
+        }
+        StartupStep step = this.applicationStartup.start("spring.boot.logging.logback.start-appenders");
+        try {
+            for (PendingStart pendingStart : this.pending) {
+                pendingStart.await(step);
+            }
+        }
+        finally {
+            this.pending.clear();
+            step.end();
+        }
+    }
+
+    private ExecutorService getExecutor() {
+        if (this.executor == null) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(this.maxThreads, this.maxThreads, 1,
+                    TimeUnit.SECONDS, new LinkedBlockingQueue<>(), (runnable) -> {
+                        Thread thread = new Thread(runnable,
+                                "logback-appender-start-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            this.executor = executor;
+        }
+        return this.executor;
+    }
+
+    private final class PendingStart {
+
+        private final Appender<?> appender;
+
+        private final Future<?> future;
+
+        private final long startTime;
+
+        private PendingStart(Appender<?> appender, Future<?> future, long startTime) {
+            this.appender = appender;
+            this.future = future;
+            this.startTime = startTime;
+        }
+
+        void await(StartupStep step) {
+            try {
+                this.future.get();
+                step.tag(String.valueOf(this.appender.getName()),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startTime) + "ms");
+            }
+            catch (ExecutionException ex) {
+                addError("Failed to start appender [" + this.appender.getName() + "]", ex.getCause());
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                addError("Interrupted while starting appender [" + this.appender.getName() + "]", ex);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.logging.AbstractLoggingSystem15;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link TurboFilter} that limits how many events per second each configured logger and
+ * its descendants may log. Events beyond the limit are denied and counted, and the
+ * counts are logged periodically as a single summary line.
+ * <p>
+ * Each limit is split into striped token buckets, one per group of threads, that share
+ * the limit between them. A thread takes tokens from its own stripe with a
+ * compare-and-set and only falls back to the other stripes once its own is empty, so
+ * threads logging through the same limit rarely contend. While all stripes are empty,
+ * events are denied after a volatile read of each stripe and only increment a striped
+ * {@link LongAdder}. Only events that are enabled by level are counted against a limit,
+ * and level checks such as {@code isDebugEnabled()} are never denied.
+ */
+class RateLimitTurboFilter extends TurboFilter {
+
+    /**
+     * Property used to enable rate limiting.
+     */
+    static final String ENABLED_PROPERTY = "logging.logback.rate-limit.enabled";
+
+    /**
+     * Property used to configure the limits as a comma-separated list of
+     * {@code logger=eventsPerSecond} pairs. A limit applies to the logger and all of its
+     * descendants, the most specific limit wins.
+     */
+    static final String LOGGERS_PROPERTY = "logging.logback.rate-limit.loggers";
+
+    /**
+     * Property used to configure how often the number of suppressed events is logged.
+     */
+    static final String REPORT_INTERVAL_PROPERTY = "logging.logback.rate-limit.report-interval";
+
+    private static final Duration DEFAULT_REPORT_INTERVAL = Duration.ofMinutes(1);
+
+    private static final Limit UNLIMITED = new Limit("", 0);
+
+    private final List<Limit> limits;
+
+    private final Duration reportInterval;
+
+    private final List<String> invalidValues;
+
+    private final Map<Logger, Limit> limitsByLogger = new ConcurrentHashMap<>();
+
+    private Logger reportLogger;
+
+    private ScheduledFuture<?> reportTask;
+
+    private RateLimitTurboFilter(List<Limit> limits, Duration reportInterval, List<String> invalidValues) {
+        this.limits = limits;
+        this.reportInterval = reportInterval;
+        this.invalidValues = invalidValues;
+        setName("rate-limit");
+    }
+
+    /**
+     * Return a {@link RateLimitTurboFilter} if rate limiting has been enabled in the
+     * given environment and at least one limit has been configured. Invalid values are
+     * ignored and reported as warnings once the filter is started.
+     * @param environment the environment or {@code null}
+     * @return the filter or {@code null}
+     */
+    static RateLimitTurboFilter get(Environment environment) {
+        if (environment == null || !environment.getProperty(ENABLED_PROPERTY, Boolean.class, false)) {
+            return null;
+        }
+        List<Limit> limits = new ArrayList<>();
+        List<String> invalidValues = new ArrayList<>();
+        for (String pair : StringUtils.commaDelimitedListToStringArray(environment.getProperty(LOGGERS_PROPERTY))) {
+            int separator = pair.lastIndexOf('=');
+            int eventsPerSecond = (separator > 0) ? parseEventsPerSecond(pair.substring(separator + 1).trim()) : -1;
+            if (eventsPerSecond > 0) {
+                String name = pair.substring(0, separator).trim();
+                limits.add(new Limit(Logger.ROOT_LOGGER_NAME.equalsIgnoreCase(name) ? "" : name, eventsPerSecond));
+            }
+            else if (StringUtils.hasText(pair)) {
+                invalidValues.add("Ignoring invalid value [" + pair.trim() + "] of " + LOGGERS_PROPERTY);
+            }
+        }
+        if (limits.isEmpty()) {
+            return null;
+        }
+        limits.sort(Comparator.comparingInt((Limit limit) -> limit.name.length()).reversed());
+        Duration reportInterval = parseReportInterval(environment.getProperty(REPORT_INTERVAL_PROPERTY));
+        if (reportInterval == null) {
+            invalidValues.add("Ignoring invalid value [" + environment.getProperty(REPORT_INTERVAL_PROPERTY)
+                    + "] of " + REPORT_INTERVAL_PROPERTY);
+            reportInterval = DEFAULT_REPORT_INTERVAL;
+        }
+        return new RateLimitTurboFilter(limits, reportInterval, invalidValues);
+    }
+
+    private static int parseEventsPerSecond(String value) {
+        try {
+            return Integer.parseInt(value);
+        }
+        catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private static Duration parseReportInterval(String value) {
+        if (!StringUtils.hasText(value)) {
+            return DEFAULT_REPORT_INTERVAL;
+        }
+        try {
+            Duration reportInterval = DurationStyle.detectAndParse(value.trim());
+            return (reportInterval.toMillis() > 0) ? reportInterval : null;
+        }
+        catch (IllegalArgumentException | ArithmeticException ex) {
+            return null;
+        }
+    }
+
+    @Override
+    public void start() {
+        this.invalidValues.forEach(this::addWarn);
+        this.reportLogger = ((LoggerContext) getContext()).getLogger(RateLimitTurboFilter.class);
+        long interval = this.reportInterval.toMillis();
+        this.reportTask = getContext().getScheduledExecutorService()
+            .scheduleAtFixedRate(this::report, interval, interval, TimeUnit.MILLISECONDS);
+        getContext().addScheduledFuture(this.reportTask);
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        if (this.reportTask != null) {
+            this.reportTask.cancel(false);
+            this.reportTask = null;
+        }
+        // The context may be resetting, record what is left as a status instead of logging it
+        String summary = summarize();
+        if (summary != null) {
+            addInfo(summary);
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (format == null || level == null || level.levelInt < logger.getEffectiveLevel().levelInt
+                || logger == this.reportLogger) {
+            return FilterReply.NEUTRAL;
+        }
+        Limit limit = getLimit(logger);
+        if (limit == UNLIMITED || limit.tryAcquire(Thread.currentThread().getId(), System.nanoTime())) {
+            return FilterReply.NEUTRAL;
+        }
+        limit.suppressed.increment();
+        return FilterReply.DENY;
+    }
+
+    private Limit getLimit(Logger logger) {
+        Limit limit = this.limitsByLogger.get(logger);
+        if (limit == null) {
+            limit = findLimit(logger.getName());
+            this.limitsByLogger.put(logger, limit);
+        }
+        return limit;
+    }
+
+    private Limit findLimit(String name) {
+        for (Limit limit : this.limits) {
+            if (AbstractLoggingSystem15.isInHierarchy(name, limit.name)) {
+                return limit;
+            }
+        }
+        return UNLIMITED;
+    }
+
+    private void report() {
+        String summary = summarize();
+        if (summary != null && this.reportLogger != null) {
+            this.reportLogger.warn(summary);
+        }
+    }
+
+    private String summarize() {
+        StringBuilder summary = new StringBuilder();
+        long total = 0;
+        for (Limit limit : this.limits) {
+            long suppressed = limit.suppressed.sumThenReset();
+            if (suppressed > 0) {
+                summary.append((total > 0) ? ", " : "")
+                    .append(limit.name.isEmpty() ? Logger.ROOT_LOGGER_NAME : limit.name)
+                    .append('=')
+                    .append(suppressed);
+                total += suppressed;
+            }
+        }
+        return (total > 0) ? "Rate limiting suppressed " + total + " log events: " + summary : null;
+    }
+
+    /**
+     * A token bucket holding one second of events, split into stripes that each run a
+     * generic cell rate algorithm over their share of the limit. Stripes are spread over
+     * the array so that they do not share a cache line.
+     */
+    private static final class Limit {
+
+        private static final int MAX_STRIPES = 64;
+
+        private static final int PADDING = 16;
+
+        private final String name;
+
+        private final int stripes;
+
+        private final long[] intervals;
+
+        private final long[] tolerances;
+
+        private final AtomicLongArray theoreticalArrivalTimes;
+
+        private final LongAdder suppressed = new LongAdder();
+
+        private Limit(String name, int eventsPerSecond) {
+            this.name = name;
+            this.stripes = Math.max(1, Math.min(eventsPerSecond,
+                    Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors())));
+            this.intervals = new long[this.stripes];
+            this.tolerances = new long[this.stripes];
+            this.theoreticalArrivalTimes = new AtomicLongArray(this.stripes * PADDING);
+            long now = System.nanoTime();
+            for (int stripe = 0; stripe < this.stripes; stripe++) {
+                int share = eventsPerSecond / this.stripes + ((stripe < eventsPerSecond % this.stripes) ? 1 : 0);
+                this.intervals[stripe] = (share > 0) ? TimeUnit.SECONDS.toNanos(1) / share : 0;
+                this.tolerances[stripe] = TimeUnit.SECONDS.toNanos(1) - this.intervals[stripe];
+                this.theoreticalArrivalTimes.set(stripe * PADDING, now);
+            }
+        }
+
+        private boolean tryAcquire(long threadId, long now) {
+            int home = (int) Math.floorMod(threadId, (long) this.stripes);
+            for (int i = 0; i < this.stripes; i++) {
+                int stripe = (home + i < this.stripes) ? home + i : home + i - this.stripes;
+                if (tryAcquire(stripe, now)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean tryAcquire(int stripe, long now) {
+            int index = stripe * PADDING;
+            long interval = this.intervals[stripe];
+            long tolerance = this.tolerances[stripe];
+            long arrivalTime = this.theoreticalArrivalTimes.get(index);
+            while (arrivalTime - now <= tolerance) {
+                long next = Math.max(arrivalTime, now) + interval;
+                if (this.theoreticalArrivalTimes.compareAndSet(index, arrivalTime, next)) {
+                    return true;
+                }
+                arrivalTime = this.theoreticalArrivalTimes.get(index);
+            }
+            return false;
+        }
+
+    }
+
+}
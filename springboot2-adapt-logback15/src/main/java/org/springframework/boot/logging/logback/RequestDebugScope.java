@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enables debug logging for the current thread, typically for the duration of a single
+ * request that carries a trace flag. Requires
+ * {@code logging.logback.request-debug.enabled=true}. A scope should be closed on the
+ * thread that opened it:
+ *
+ * <pre class="code">
+ * try (RequestDebugScope scope = RequestDebugScope.open()) {
+ *     chain.doFilter(request, response);
+ * }
+ * </pre>
+ *
+ * Scopes may be closed out of order, and a scope that is closed on another thread stops
+ * applying to the thread that opened it, which then forgets it on its next check, so that
+ * a pooled thread never stays in debug mode because of a scope that is already closed.
+ *
+ * @see RequestDebugTurboFilter
+ */
+public final class RequestDebugScope implements AutoCloseable {
+
+    private static final AtomicInteger openScopes = new AtomicInteger();
+
+    private static final ThreadLocal<RequestDebugScope> current = new ThreadLocal<>();
+
+    private final RequestDebugScope parent;
+
+    private volatile boolean closed;
+
+    private RequestDebugScope(RequestDebugScope parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Open a scope for the current thread.
+     * @return the scope
+     */
+    public static RequestDebugScope open() {
+        RequestDebugScope scope = new RequestDebugScope(innermostOpen(current.get()));
+        current.set(scope);
+        openScopes.incrementAndGet();
+        return scope;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+        }
+        openScopes.decrementAndGet();
+        if (current.get() == this) {
+            setCurrent(innermostOpen(this.parent));
+        }
+    }
+
+    /**
+     * Return whether a scope is open on any thread. A single volatile read, allowing the
+     * filter to skip the thread-local lookup while no request is being debugged.
+     * @return whether any scope is open
+     */
+    static boolean isAnyOpen() {
+        return openScopes.get() != 0;
+    }
+
+    /**
+     * Return whether a scope is open on the current thread.
+     * @return whether a scope is open
+     */
+    static boolean isOpen() {
+        RequestDebugScope scope = current.get();
+        if (scope == null || !scope.closed) {
+            return scope != null;
+        }
+        RequestDebugScope open = innermostOpen(scope);
+        setCurrent(open);
+        return open != null;
+    }
+
+    private static RequestDebugScope innermostOpen(RequestDebugScope scope) {
+        while (scope != null && scope.closed) {
+            scope = scope.parent;
+        }
+        return scope;
+    }
+
+    private static void setCurrent(RequestDebugScope scope) {
+        if (scope != null) {
+            current.set(scope);
+        }
+        else {
+            current.remove();
+        }
+    }
+
+}
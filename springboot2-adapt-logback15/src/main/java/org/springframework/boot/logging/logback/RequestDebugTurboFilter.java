@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.springframework.boot.logging.AbstractLoggingSystem15;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link TurboFilter} that accepts events below the configured level of their logger
+ * while the current request is being debugged, either because a
+ * {@link RequestDebugScope} is open on the current thread or because the configured MDC
+ * key is set.
+ * <p>
+ * Without an MDC key, the filter returns after a single volatile read while no scope is
+ * open, so it does not allocate and costs about as much as the level check that follows
+ * it. With an MDC key, events that are already enabled are still decided on the level
+ * alone, and the MDC is only consulted for events that would otherwise be dropped.
+ */
+class RequestDebugTurboFilter extends TurboFilter {
+
+    /**
+     * Property used to enable per-request debug logging.
+     */
+    static final String ENABLED_PROPERTY = "logging.logback.request-debug.enabled";
+
+    /**
+     * Property used to configure an MDC key whose presence enables debug logging.
+     */
+    static final String MDC_KEY_PROPERTY = "logging.logback.request-debug.mdc-key";
+
+    /**
+     * Property used to configure the lowest level that is enabled for a debugged request.
+     */
+    static final String LEVEL_PROPERTY = "logging.logback.request-debug.level";
+
+    /**
+     * Property used to restrict per-request debug logging to some loggers and their
+     * descendants.
+     */
+    static final String LOGGERS_PROPERTY = "logging.logback.request-debug.loggers";
+
+    private final String mdcKey;
+
+    private final int levelInt;
+
+    private final String[] loggerNames;
+
+    private RequestDebugTurboFilter(String mdcKey, Level level, String[] loggerNames) {
+        this.mdcKey = mdcKey;
+        this.levelInt = level.levelInt;
+        this.loggerNames = loggerNames;
+        setName("request-debug");
+    }
+
+    /**
+     * Return a {@link RequestDebugTurboFilter} if per-request debug logging has been
+     * enabled in the given environment.
+     * @param environment the environment or {@code null}
+     * @return the filter or {@code null}
+     */
+    static RequestDebugTurboFilter get(Environment environment) {
+        if (environment == null || !environment.getProperty(ENABLED_PROPERTY, Boolean.class, false)) {
+            return null;
+        }
+        String mdcKey = environment.getProperty(MDC_KEY_PROPERTY);
+        Level level = Level.toLevel(environment.getProperty(LEVEL_PROPERTY), Level.DEBUG);
+        String[] loggerNames = StringUtils.tokenizeToStringArray(environment.getProperty(LOGGERS_PROPERTY), ",");
+        return new RequestDebugTurboFilter(StringUtils.hasText(mdcKey) ? mdcKey : null, level, loggerNames);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (this.mdcKey == null && !RequestDebugScope.isAnyOpen()) {
+            return FilterReply.NEUTRAL;
+        }
+        if (level == null || level.levelInt < this.levelInt || level.levelInt >= logger.getEffectiveLevel().levelInt) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!isDebugged() || !isIncluded(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.ACCEPT;
+    }
+
+    private boolean isDebugged() {
+        return RequestDebugScope.isOpen() || (this.mdcKey != null && MDC.get(this.mdcKey) != null);
+    }
+
+    private boolean isIncluded(String name) {
+        if (this.loggerNames.length == 0) {
+            return true;
+        }
+        for (String loggerName : this.loggerNames) {
+            if (AbstractLoggingSystem15.isInHierarchy(name, loggerName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
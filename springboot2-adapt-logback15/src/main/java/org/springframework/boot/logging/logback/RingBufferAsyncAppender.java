@@ -0,0 +1,422 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous appender that hands events to its attached appenders through a
+ * preallocated ring buffer instead of the {@code ArrayBlockingQueue} of Logback's
+ * {@link AsyncAppender}, whose single lock is contended by every logging thread.
+ * <p>
+ * Logging threads claim a sequence with a compare-and-set on a shared cursor, store the
+ * event in the slot of that sequence and publish it by writing the round of the sequence
+ * to a per-slot flag, like the multi-producer sequencer of the LMAX Disruptor. A single
+ * consumer thread drains every published sequence at once and passes the batch to the
+ * attached appenders. Attached {@link OutputStreamAppender OutputStreamAppenders} that do
+ * not flush immediately are flushed once at the end of each batch, so they should not be
+ * shared with other appenders.
+ * <p>
+ * How the consumer waits for events is selected with {@link #setWaitStrategy}:
+ * {@code blocking} parks the thread until an event is published, {@code yielding} spins
+ * and then yields, {@code busy-spin} never gives up its CPU. When the buffer is full,
+ * logging threads wait for the consumer, or drop the event if {@link #setNeverBlock
+ * neverBlock} is set.
+ *
+ * @see AsyncDefaultAppenders
+ */
+public class RingBufferAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    /**
+     * The default number of slots of the ring buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    /**
+     * The default time to wait for the buffer to be drained when the appender is stopped.
+     */
+    public static final int DEFAULT_MAX_FLUSH_TIME = 1000;
+
+    private static final int MAX_BUFFER_SIZE = 1 << 30;
+
+    private static final int SPIN_TRIES = 100;
+
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    private final AtomicLong cursor = new AtomicLong(-1);
+
+    private final AtomicLong consumed = new AtomicLong(-1);
+
+    private final LongAdder dropped = new LongAdder();
+
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+
+    private boolean neverBlock;
+
+    private boolean includeCallerData;
+
+    private int maxFlushTime = DEFAULT_MAX_FLUSH_TIME;
+
+    private ILoggingEvent[] entries;
+
+    private AtomicIntegerArray published;
+
+    private int mask;
+
+    private int indexShift;
+
+    private volatile boolean running;
+
+    private volatile boolean consumerWaiting;
+
+    private Thread consumer;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!this.appenders.iteratorForAppenders().hasNext()) {
+            addError("No attached appenders found.");
+            return;
+        }
+        if (this.bufferSize < 1 || this.bufferSize > MAX_BUFFER_SIZE) {
+            addError("Invalid buffer size [" + this.bufferSize + "]");
+            return;
+        }
+        int size = (this.bufferSize == 1) ? 1 : Integer.highestOneBit(this.bufferSize - 1) << 1;
+        this.entries = new ILoggingEvent[size];
+        this.published = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            this.published.set(i, -1);
+        }
+        this.mask = size - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(size);
+        this.cursor.set(-1);
+        this.consumed.set(-1);
+        this.dropped.reset();
+        this.running = true;
+        this.consumer = new Thread(this::drain, "logback-ring-buffer-" + getName());
+        this.consumer.setDaemon(true);
+        super.start();
+        this.consumer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        this.running = false;
+        LockSupport.unpark(this.consumer);
+        try {
+            this.consumer.join(this.maxFlushTime);
+            if (this.consumer.isAlive()) {
+                addWarn("Max flush time (" + this.maxFlushTime + " ms) exceeded with "
+                        + (this.cursor.get() - this.consumed.get()) + " events left in the buffer");
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            addError("Failed to join the consumer thread", ex);
+        }
+        long dropped = this.dropped.sumThenReset();
+        if (dropped > 0) {
+            addWarn("Dropped " + dropped + " events because the ring buffer was full");
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        event.prepareForDeferredProcessing();
+        if (this.includeCallerData) {
+            event.getCallerData();
+        }
+        long sequence = claim();
+        if (sequence < 0) {
+            this.dropped.increment();
+            return;
+        }
+        int index = (int) sequence & this.mask;
+        this.entries[index] = event;
+        this.published.set(index, (int) (sequence >>> this.indexShift));
+        if (this.consumerWaiting) {
+            LockSupport.unpark(this.consumer);
+        }
+    }
+
+    private long claim() {
+        for (;;) {
+            long current = this.cursor.get();
+            long next = current + 1;
+            if (next - this.entries.length > this.consumed.get()) {
+                if (this.neverBlock || !isStarted()) {
+                    return -1;
+                }
+                LockSupport.unpark(this.consumer);
+                LockSupport.parkNanos(1);
+            }
+            else if (this.cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private long highestPublished(long from, long to) {
+        for (long sequence = from; sequence <= to; sequence++) {
+            if (this.published.get((int) sequence & this.mask) != (int) (sequence >>> this.indexShift)) {
+                return sequence - 1;
+            }
+        }
+        return to;
+    }
+
+    private void drain() {
+        List<ILoggingEvent> batch = new ArrayList<>();
+        long next = 0;
+        int idle = 0;
+        for (;;) {
+            long available = highestPublished(next, this.cursor.get());
+            if (available >= next) {
+                for (long sequence = next; sequence <= available; sequence++) {
+                    int index = (int) sequence & this.mask;
+                    batch.add(this.entries[index]);
+                    this.entries[index] = null;
+                }
+                this.consumed.set(available);
+                dispatch(batch);
+                batch.clear();
+                next = available + 1;
+                idle = 0;
+            }
+            else if (!this.running && this.cursor.get() < next) {
+                break;
+            }
+            else {
+                idle = waitFor(next, idle);
+            }
+        }
+        this.appenders.detachAndStopAllAppenders();
+    }
+
+    private void dispatch(List<ILoggingEvent> batch) {
+        for (ILoggingEvent event : batch) {
+            this.appenders.appendLoopOnAppenders(event);
+        }
+        Iterator<Appender<ILoggingEvent>> iterator = this.appenders.iteratorForAppenders();
+        while (iterator.hasNext()) {
+            if (iterator.next() instanceof OutputStreamAppender<ILoggingEvent> appender
+                    && !appender.isImmediateFlush() && appender.isStarted()) {
+                flush(appender);
+            }
+        }
+    }
+
+    private void flush(OutputStreamAppender<ILoggingEvent> appender) {
+        OutputStream outputStream = appender.getOutputStream();
+        if (outputStream != null) {
+            try {
+                outputStream.flush();
+            }
+            catch (IOException ex) {
+                addError("Failed to flush appender named [" + appender.getName() + "]", ex);
+            }
+        }
+    }
+
+    private int waitFor(long sequence, int idle) {
+        if (!this.running) {
+            // An event has been claimed before stopping but is not published yet
+            Thread.onSpinWait();
+            return idle;
+        }
+        switch (this.waitStrategy) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELDING -> {
+                if (idle < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                    return idle + 1;
+                }
+                Thread.yield();
+            }
+            case BLOCKING -> {
+                this.consumerWaiting = true;
+                if (this.running && highestPublished(sequence, this.cursor.get()) < sequence) {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+                this.consumerWaiting = false;
+            }
+        }
+        return idle;
+    }
+
+    /**
+     * Set the number of slots of the ring buffer, rounded up to a power of two. Defaults
+     * to {@value #DEFAULT_BUFFER_SIZE}, the appender does not start if the size is not
+     * between 1 and 2^30.
+     * @param bufferSize the buffer size
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBufferSize() {
+        return this.bufferSize;
+    }
+
+    /**
+     * Set how the consumer thread waits for events, one of {@code blocking} (the
+     * default), {@code yielding} or {@code busy-spin}. Other values are ignored with a
+     * warning.
+     * @param waitStrategy the name of the wait strategy
+     */
+    public void setWaitStrategy(String waitStrategy) {
+        WaitStrategy strategy = WaitStrategy.forName(waitStrategy);
+        if (strategy == null) {
+            addWarn("Ignoring unknown wait strategy [" + waitStrategy + "]");
+            return;
+        }
+        this.waitStrategy = strategy;
+    }
+
+    /**
+     * Return whether the given name is one of the supported wait strategies.
+     * @param waitStrategy the name of the wait strategy
+     * @return whether the wait strategy is supported
+     */
+    static boolean isWaitStrategy(String waitStrategy) {
+        return WaitStrategy.forName(waitStrategy) != null;
+    }
+
+    public String getWaitStrategy() {
+        return this.waitStrategy.name().replace('_', '-').toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Set whether events are dropped rather than waiting for the consumer when the buffer
+     * is full.
+     * @param neverBlock whether to never block
+     */
+    public void setNeverBlock(boolean neverBlock) {
+        this.neverBlock = neverBlock;
+    }
+
+    public boolean isNeverBlock() {
+        return this.neverBlock;
+    }
+
+    /**
+     * Set whether caller data is captured before an event is published.
+     * @param includeCallerData whether to include caller data
+     */
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public boolean isIncludeCallerData() {
+        return this.includeCallerData;
+    }
+
+    /**
+     * Set how many milliseconds to wait for the buffer to be drained when the appender is
+     * stopped. Defaults to {@value #DEFAULT_MAX_FLUSH_TIME}.
+     * @param maxFlushTime the max flush time
+     */
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    public int getMaxFlushTime() {
+        return this.maxFlushTime;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        this.appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return this.appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return this.appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return this.appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        this.appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return this.appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return this.appenders.detachAppender(name);
+    }
+
+    private enum WaitStrategy {
+
+        BLOCKING, YIELDING, BUSY_SPIN;
+
+        static WaitStrategy forName(String name) {
+            String candidate = (name != null) ? name.trim().replace('-', '_').toUpperCase(Locale.ROOT) : "";
+            for (WaitStrategy waitStrategy : values()) {
+                if (waitStrategy.name().equals(candidate)) {
+                    return waitStrategy;
+                }
+            }
+            return null;
+        }
+
+    }
+
+}
@@ -17,45 +17,48 @@
 package org.springframework.boot.logging.logback;
 
 import ch.qos.logback.classic.joran.JoranConfigurator;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.Context;
 import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.joran.JoranConstants;
+import ch.qos.logback.core.joran.event.SaxEvent;
+import ch.qos.logback.core.joran.event.SaxEventRecorder;
 import ch.qos.logback.core.joran.spi.ElementSelector;
+import ch.qos.logback.core.joran.spi.JoranException;
 import ch.qos.logback.core.joran.spi.RuleStore;
-import ch.qos.logback.core.joran.util.PropertySetter;
-import ch.qos.logback.core.joran.util.beans.BeanDescription;
-import ch.qos.logback.core.model.ComponentModel;
+import ch.qos.logback.core.model.AppenderModel;
+import ch.qos.logback.core.model.ConversionRuleModel;
 import ch.qos.logback.core.model.IncludeModel;
 import ch.qos.logback.core.model.Model;
 import ch.qos.logback.core.model.ModelUtil;
 import ch.qos.logback.core.model.processor.DefaultProcessor;
+import ch.qos.logback.core.model.processor.DependencyDefinition;
 import ch.qos.logback.core.model.processor.ModelInterpretationContext;
-import ch.qos.logback.core.spi.ContextAware;
-import ch.qos.logback.core.spi.ContextAwareBase;
-import ch.qos.logback.core.util.AggregationType;
+import ch.qos.logback.core.status.Status;
+import ch.qos.logback.core.status.StatusUtil;
 import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.boot.logging.logback.ModelBinaryFormat.IncompatibleFormatException;
 import org.springframework.core.CollectionFactory;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.support.PropertiesLoaderUtils;
-import org.springframework.util.ClassUtils;
-import org.springframework.util.ReflectionUtils;
-import org.springframework.util.function.SingletonSupplier;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.util.Assert;
+import org.xml.sax.InputSource;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.Serializable;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.util.Collection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.function.Supplier;
-import java.util.stream.Stream;
+import java.util.TreeMap;
 
 /**
  * Extended version of the Logback {@link JoranConfigurator} that adds additional Spring
@@ -68,10 +71,27 @@ class SpringBootJoran15Configurator extends JoranConfigurator {
 
     private final LoggingInitializationContext initializationContext;
 
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+    private ParallelAppenderStarter parallelAppenderStarter;
+
+    private Map<String, Appender<ILoggingEvent>> retainedAppenders;
+
+    private Set<String> externallyReferencedAppenders;
+
     SpringBootJoran15Configurator(LoggingInitializationContext initializationContext) {
         this.initializationContext = initializationContext;
     }
 
+    /**
+     * Set the {@link ApplicationStartup} used to record the parsing and processing of the
+     * configuration.
+     * @param applicationStartup the application startup to use
+     */
+    void setApplicationStartup(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
     @Override
     protected void sanityCheck(Model topModel) {
         super.sanityCheck(topModel);
@@ -87,12 +107,15 @@ class SpringBootJoran15Configurator extends JoranConfigurator {
                 (handlerContext, handlerMic) -> new SpringProfileModelHandler(this.context,
                         this.initializationContext.getEnvironment()));
         super.addModelHandlerAssociations(defaultProcessor);
+        defaultProcessor.addHandler(AppenderModel.class,
+                (handlerContext, handlerMic) -> new InstrumentedAppenderModelHandler<>(handlerContext,
+                        this.applicationStartup, this.parallelAppenderStarter));
     }
 
     @Override
     public void addElementSelectorAndActionAssociations(RuleStore ruleStore) {
         super.addElementSelectorAndActionAssociations(ruleStore);
-        ruleStore.addRule(new ElementSelector("configuration/springProperty"), SpringProfileAction15::new);
+        ruleStore.addRule(new ElementSelector("configuration/springProperty"), SpringPropertyAction15::new);
         ruleStore.addRule(new ElementSelector("*/springProfile"), SpringProfileAction15::new);
         ruleStore.addTransparentPathPart("springProfile");
     }
@@ -101,186 +124,247 @@ class SpringBootJoran15Configurator extends JoranConfigurator {
     public void buildModelInterpretationContext() {
         super.buildModelInterpretationContext();
         this.modelInterpretationContext.setConfiguratorSupplier(() -> {
-            SpringBootJoranConfigurator configurator = new SpringBootJoranConfigurator(this.initializationContext);
+            SpringBootJoran15Configurator configurator = new SpringBootJoran15Configurator(this.initializationContext);
             configurator.setContext(this.context);
+            configurator.setApplicationStartup(this.applicationStartup);
             return configurator;
         });
+        if (this.retainedAppenders != null) {
+            this.modelInterpretationContext.getObjectMap()
+                .put(JoranConstants.APPENDER_BAG, new HashMap<>(this.retainedAppenders));
+            this.retainedAppenders.keySet().forEach(this.modelInterpretationContext::markStartOfNamedDependee);
+        }
+        if (this.externallyReferencedAppenders != null) {
+            // Logback skips appenders without an appender-ref in the processed model. The
+            // depender is never traversed so it does not delay any other model.
+            Model depender = new Model();
+            this.externallyReferencedAppenders.forEach((name) -> this.modelInterpretationContext
+                .addDependencyDefinition(new DependencyDefinition(depender, name)));
+        }
+    }
+
+    static boolean hasAotGeneratedArtifacts() {
+        ClassLoader classLoader = getAotClassLoader();
+        return new ClassPathResource(PatternRules.RESOURCE_LOCATION, classLoader).exists()
+                && new ClassPathResource(ModelWriter.MODEL_RESOURCE_LOCATION, classLoader).exists();
+    }
+
+    /**
+     * Return the class loader that every AOT generated artifact is loaded with.
+     * @return the class loader
+     */
+    private static ClassLoader getAotClassLoader() {
+        return SpringBootJoran15Configurator.class.getClassLoader();
     }
 
     boolean configureUsingAotGeneratedArtifacts() {
+        Model model;
+        StartupStep step = this.applicationStartup.start("spring.boot.logging.logback.load-model");
+        step.tag("source", "aot");
+        try {
+            model = new ModelReader().read();
+        }
+        catch (IncompatibleFormatException ex) {
+            addWarn("Ignoring AOT generated model '" + ModelWriter.MODEL_RESOURCE_LOCATION + "': " + ex.getMessage()
+                    + ". Regenerate it for the Logback version in use.");
+            return false;
+        }
+        finally {
+            step.end();
+        }
+        // Only touch the context once the model is known to be usable
         if (!new PatternRules(getContext()).load()) {
             return false;
         }
-        Model model = new ModelReader().read();
         processModel(model);
         registerSafeConfiguration(model);
         return true;
     }
 
-    @Override
-    public void processModel(Model model) {
-        super.processModel(model);
+    /**
+     * Configure from the given URL, reusing a model from the given cache when a valid
+     * entry exists and populating the cache otherwise.
+     * @param url the configuration location
+     * @param modelCache the model cache
+     * @throws JoranException on configuration error
+     */
+    void doConfigure(URL url, ModelCache modelCache) throws JoranException {
+        StartupStep step = this.applicationStartup.start("spring.boot.logging.logback.load-model");
+        step.tag("source", "cache");
+        Model model = modelCache.load(url, getContext());
+        step.tag("hit", String.valueOf(model != null));
+        step.end();
+        if (model != null) {
+            prepareForReuse(model);
+            informContextOfURLUsedForConfiguration(getContext(), url);
+            processModel(model);
+            registerSafeConfiguration(model);
+            return;
+        }
+        long threshold = System.currentTimeMillis();
+        doConfigure(url);
+        model = recallSafeConfiguration();
+        if (model != null && new StatusUtil(getContext()).getHighestLevel(threshold) < Status.ERROR) {
+            modelCache.save(url, model, getModelInterpretationContext());
+        }
     }
 
-    private static final class ModelWriter {
-
-        private static final String MODEL_RESOURCE_LOCATION = "META-INF/spring/logback-model";
-
-        private final Model model;
-
-        private final ModelInterpretationContext modelInterpretationContext;
+    private static void prepareForReuse(Model model) {
+        ModelUtil.resetForReuse(model);
+        markIncludesAsHandled(model);
+    }
 
-        private ModelWriter(Model model, ModelInterpretationContext modelInterpretationContext) {
-            this.model = model;
-            this.modelInterpretationContext = modelInterpretationContext;
+    private static void markIncludesAsHandled(Model model) {
+        if (model instanceof IncludeModel) {
+            model.markAsHandled();
         }
-
-        private byte[] serializeModel() {
-            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-            try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
-                output.writeObject(this.model);
-            }
-            catch (IOException ex) {
-                throw new RuntimeException(ex);
-            }
-            return bytes.toByteArray();
+        for (Model submodel : model.getSubModels()) {
+            markIncludesAsHandled(submodel);
         }
+    }
 
-        @SuppressWarnings("unchecked")
-        private Set<Class<? extends Serializable>> serializationTypes(Model model) {
-            Set<Class<? extends Serializable>> modelClasses = new HashSet<>();
-            Class<?> candidate = model.getClass();
-            while (Model.class.isAssignableFrom(candidate)) {
-                if (modelClasses.add((Class<? extends Model>) candidate)) {
-                    ReflectionUtils.doWithFields(candidate, (field) -> {
-                        if (Modifier.isStatic(field.getModifiers())) {
-                            return;
-                        }
-                        ReflectionUtils.makeAccessible(field);
-                        Object value = field.get(model);
-                        if (value != null) {
-                            Class<?> fieldType = value.getClass();
-                            if (Serializable.class.isAssignableFrom(fieldType)) {
-                                modelClasses.add((Class<? extends Serializable>) fieldType);
-                            }
-                        }
-                    });
-                    candidate = candidate.getSuperclass();
-                }
-            }
-            for (Model submodel : model.getSubModels()) {
-                modelClasses.addAll(serializationTypes(submodel));
-            }
-            return modelClasses;
+    @Override
+    public SaxEventRecorder populateSaxEventRecorder(InputSource inputSource) throws JoranException {
+        StartupStep step = this.applicationStartup.start("spring.boot.logging.logback.parse");
+        try {
+            return super.populateSaxEventRecorder(inputSource);
         }
-
-        private Set<Class<?>> reflectionTypes(Model model) {
-            return reflectionTypes(model, () -> null);
+        finally {
+            step.end();
         }
+    }
 
-        private Set<Class<?>> reflectionTypes(Model model, Supplier<Object> parent) {
-            Set<Class<?>> reflectionTypes = new HashSet<>();
-            Class<?> componentType = determineType(model, parent);
-            if (componentType != null) {
-                processComponent(componentType, reflectionTypes);
-            }
-            Supplier<Object> componentSupplier = SingletonSupplier.ofNullable(() -> instantiate(componentType));
-            for (Model submodel : model.getSubModels()) {
-                reflectionTypes.addAll(reflectionTypes(submodel, componentSupplier));
-            }
-            return reflectionTypes;
+    @Override
+    public Model buildModelFromSaxEventList(List<SaxEvent> saxEvents) throws JoranException {
+        StartupStep step = this.applicationStartup.start("spring.boot.logging.logback.build-model");
+        try {
+            return super.buildModelFromSaxEventList(saxEvents);
         }
-
-        private Class<?> determineType(Model model, Supplier<Object> parentSupplier) {
-            String className = (model instanceof ComponentModel componentModel) ? componentModel.getClassName() : null;
-            if (className != null) {
-                return loadImportType(className);
-            }
-            String tag = model.getTag();
-            if (tag != null) {
-                className = this.modelInterpretationContext.getDefaultNestedComponentRegistry()
-                        .findDefaultComponentTypeByTag(tag);
-                if (className != null) {
-                    return loadImportType(className);
-                }
-                return inferTypeFromParent(parentSupplier, tag);
-            }
-            return null;
+        finally {
+            step.end();
         }
+    }
 
-        private Class<?> loadImportType(String className) {
-            return loadComponentType(this.modelInterpretationContext.getImport(className));
+    @Override
+    public void processModel(Model model) {
+        StartupStep step = this.applicationStartup.start("spring.boot.logging.logback.process-model");
+        this.parallelAppenderStarter = ParallelAppenderStarter.get(getContext(),
+                (this.initializationContext != null) ? this.initializationContext.getEnvironment() : null,
+                this.applicationStartup);
+        try {
+            super.processModel(model);
         }
-
-        private Class<?> inferTypeFromParent(Supplier<Object> parentSupplier, String tag) {
-            Object parent = parentSupplier.get();
-            if (parent != null) {
-                try {
-                    PropertySetter propertySetter = new PropertySetter(
-                            this.modelInterpretationContext.getBeanDescriptionCache(), parent);
-                    Class<?> typeFromPropertySetter = propertySetter.getClassNameViaImplicitRules(tag,
-                            AggregationType.AS_COMPLEX_PROPERTY,
-                            this.modelInterpretationContext.getDefaultNestedComponentRegistry());
-                    return typeFromPropertySetter;
-                }
-                catch (Exception ex) {
-                    return null;
-                }
+        finally {
+            if (this.parallelAppenderStarter != null) {
+                this.parallelAppenderStarter.finish();
+                this.parallelAppenderStarter = null;
             }
-            return null;
+            step.end();
         }
+    }
 
-        private Class<?> loadComponentType(String componentType) {
-            try {
-                return ClassUtils.forName(this.modelInterpretationContext.subst(componentType),
-                        getClass().getClassLoader());
-            }
-            catch (Throwable ex) {
-                throw new RuntimeException("Failed to load component type '" + componentType + "'", ex);
-            }
+    /**
+     * Process a model that is applied on top of an earlier configuration whose appenders
+     * are still running.
+     * @param model the model to process
+     * @param retainedAppenders the running appenders that the model may reference, by
+     * name
+     * @param externallyReferencedAppenders the names of the appenders in the model that
+     * are referenced from outside of it and must be created even if the model does not
+     * reference them
+     */
+    void processModel(Model model, Map<String, Appender<ILoggingEvent>> retainedAppenders,
+                      Set<String> externallyReferencedAppenders) {
+        this.retainedAppenders = retainedAppenders;
+        this.externallyReferencedAppenders = externallyReferencedAppenders;
+        try {
+            processModel(model);
         }
+        finally {
+            this.retainedAppenders = null;
+            this.externallyReferencedAppenders = null;
+        }
+    }
 
-        private Object instantiate(Class<?> type) {
-            try {
-                return type.getConstructor().newInstance();
-            }
-            catch (Exception ex) {
-                return null;
-            }
+    /**
+     * Return the dependencies of the configuration that has just been processed by this
+     * configurator.
+     * @return the dependencies or {@code null} if no configuration was processed
+     * successfully
+     */
+    ModelDependencies getModelDependencies() {
+        Model model = recallSafeConfiguration();
+        return (model != null) ? ModelDependencies.collect(model, getModelInterpretationContext()) : null;
+    }
+
+    /**
+     * Parse the configuration at the given URL into a model without processing it.
+     * @param url the configuration location
+     * @return the model
+     * @throws JoranException on parse error
+     */
+    Model buildModel(URL url) throws JoranException {
+        try (InputStream input = url.openStream()) {
+            InputSource inputSource = new InputSource(input);
+            inputSource.setSystemId(url.toExternalForm());
+            return buildModelFromSaxEventList(populateSaxEventRecorder(inputSource).getSaxEventList());
+        }
+        catch (IOException ex) {
+            throw new JoranException("Could not open [" + url + "]", ex);
         }
+    }
+
+    /**
+     * Write the artifacts loaded by {@link #configureUsingAotGeneratedArtifacts()} for
+     * the configuration that has just been processed by this configurator.
+     * @param outputDirectory the root directory that the resources should be written to
+     * @throws IOException on write error
+     */
+    void writeAotGeneratedArtifacts(Path outputDirectory) throws IOException {
+        Model model = recallSafeConfiguration();
+        Assert.state(model != null, "No successfully processed configuration is available");
+        ModelWriter modelWriter = new ModelWriter(model);
+        write(outputDirectory.resolve(ModelWriter.MODEL_RESOURCE_LOCATION), modelWriter.serializeModel());
+        PatternRules patternRules = new PatternRules(getContext());
+        write(outputDirectory.resolve(PatternRules.RESOURCE_LOCATION),
+                patternRules.asBytes(patternRules.collect(model, getModelInterpretationContext())));
+    }
 
-        private void processComponent(Class<?> componentType, Set<Class<?>> reflectionTypes) {
-            BeanDescription beanDescription = this.modelInterpretationContext.getBeanDescriptionCache()
-                    .getBeanDescription(componentType);
-            reflectionTypes.addAll(parameterTypesNames(beanDescription.getPropertyNameToAdder().values()));
-            reflectionTypes.addAll(parameterTypesNames(beanDescription.getPropertyNameToSetter().values()));
-            reflectionTypes.add(componentType);
+    private void write(Path path, byte[] content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, content);
+    }
+
+    private static final class ModelWriter {
+
+        private static final String MODEL_RESOURCE_LOCATION = "META-INF/spring/logback-model";
+
+        private final Model model;
+
+        private ModelWriter(Model model) {
+            this.model = model;
         }
 
-        private Collection<Class<?>> parameterTypesNames(Collection<Method> methods) {
-            return methods.stream()
-                    .filter((method) -> !method.getDeclaringClass().equals(ContextAware.class)
-                            && !method.getDeclaringClass().equals(ContextAwareBase.class))
-                    .map(Method::getParameterTypes)
-                    .flatMap(Stream::of)
-                    .filter((type) -> !type.isPrimitive() && !type.equals(String.class))
-                    .map((type) -> type.isArray() ? type.getComponentType() : type)
-                    .toList();
+        private byte[] serializeModel() {
+            return ModelBinaryFormat.write(this.model);
         }
 
     }
 
     private static final class ModelReader {
 
-        private Model read() {
-            try (InputStream modelInput = getClass().getClassLoader()
-                    .getResourceAsStream(ModelWriter.MODEL_RESOURCE_LOCATION)) {
-                try (ObjectInputStream input = new ObjectInputStream(modelInput)) {
-                    Model model = (Model) input.readObject();
-                    ModelUtil.resetForReuse(model);
-                    markIncludesAsHandled(model);
-                    return model;
+        private Model read() throws IncompatibleFormatException {
+            ClassLoader classLoader = getAotClassLoader();
+            try (InputStream modelInput = classLoader.getResourceAsStream(ModelWriter.MODEL_RESOURCE_LOCATION)) {
+                if (modelInput == null) {
+                    throw new IncompatibleFormatException("Resource not found");
                 }
+                Model model = ModelBinaryFormat.read(modelInput, classLoader);
+                prepareForReuse(model);
+                return model;
+            }
+            catch (IncompatibleFormatException ex) {
+                throw ex;
             }
             catch (Exception ex) {
                 throw new RuntimeException("Failed to load model from '" + ModelWriter.MODEL_RESOURCE_LOCATION + "'",
@@ -288,15 +372,6 @@ class SpringBootJoran15Configurator extends JoranConfigurator {
             }
         }
 
-        private void markIncludesAsHandled(Model model) {
-            if (model instanceof IncludeModel) {
-                model.markAsHandled();
-            }
-            for (Model submodel : model.getSubModels()) {
-                markIncludesAsHandled(submodel);
-            }
-        }
-
     }
 
     private static final class PatternRules {
@@ -311,7 +386,7 @@ class SpringBootJoran15Configurator extends JoranConfigurator {
 
         private boolean load() {
             try {
-                ClassPathResource resource = new ClassPathResource(RESOURCE_LOCATION);
+                ClassPathResource resource = new ClassPathResource(RESOURCE_LOCATION, getAotClassLoader());
                 if (!resource.exists()) {
                     return false;
                 }
@@ -327,6 +402,25 @@ class SpringBootJoran15Configurator extends JoranConfigurator {
             }
         }
 
+        private Map<String, String> collect(Model model, ModelInterpretationContext modelInterpretationContext) {
+            Map<String, String> patternRuleRegistry = new TreeMap<>(getRegistryMap());
+            collectConversionRules(model, modelInterpretationContext, patternRuleRegistry);
+            return patternRuleRegistry;
+        }
+
+        private void collectConversionRules(Model model, ModelInterpretationContext modelInterpretationContext,
+                                            Map<String, String> patternRuleRegistry) {
+            if (model instanceof ConversionRuleModel conversionRuleModel && !model.isSkipped()
+                    && conversionRuleModel.getConversionWord() != null
+                    && conversionRuleModel.getClassName() != null) {
+                patternRuleRegistry.put(conversionRuleModel.getConversionWord(),
+                        modelInterpretationContext.getImport(conversionRuleModel.getClassName()));
+            }
+            for (Model submodel : model.getSubModels()) {
+                collectConversionRules(submodel, modelInterpretationContext, patternRuleRegistry);
+            }
+        }
+
         @SuppressWarnings("unchecked")
         private Map<String, String> getRegistryMap() {
             Map<String, String> patternRuleRegistry = (Map<String, String>) this.context
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The single {@link TurboFilter} that {@link LogbackLogging15System} registers. While
+ * the gate is closed, during initialization and while the configuration is loaded, every
+ * event is denied and counted, and captured during initialization if an
+ * {@link EarlyEventBuffer} is enabled. Otherwise events are passed to the filters of this
+ * module that are enabled, if any.
+ * <p>
+ * Closing and opening the gate only flips a volatile flag that is read once per event.
+ * The gate is only kept in the context's copy-on-write {@code TurboFilterList} while it
+ * is closed or has filters to delegate to, so that loggers keep skipping the turbo filter
+ * chain otherwise. As resetting the context clears that list, the gate adds itself back
+ * when the context is reset. Stopping the context also removes its listeners, after which
+ * the gate has to be {@link #reattach reattached}.
+ */
+class SuppressionGate extends TurboFilter implements LoggerContextListener {
+
+    private final LongAdder suppressed = new LongAdder();
+
+    private volatile boolean closed;
+
+    private volatile TurboFilter delegate;
+
+    private volatile EarlyEventBuffer buffer;
+
+    private boolean initializing;
+
+    private int sections;
+
+    SuppressionGate() {
+        setName("suppression-gate");
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (this.closed) {
+            this.suppressed.increment();
+            EarlyEventBuffer buffer = this.buffer;
+            if (buffer != null) {
+                buffer.capture(marker, logger, level, format, params, t);
+            }
+            return FilterReply.DENY;
+        }
+        TurboFilter delegate = this.delegate;
+        return (delegate != null) ? delegate.decide(marker, logger, level, format, params, t) : FilterReply.NEUTRAL;
+    }
+
+    /**
+     * Close the gate until {@link #endInitialization()} is called.
+     * @param loggerContext the logger context
+     * @param buffer the buffer to capture suppressed events in or {@code null}
+     */
+    synchronized void beginInitialization(LoggerContext loggerContext, EarlyEventBuffer buffer) {
+        bind(loggerContext);
+        this.initializing = true;
+        this.buffer = buffer;
+        update();
+    }
+
+    /**
+     * Open the gate unless a {@link #suppress suppressed section} is in progress, and stop
+     * capturing events.
+     * @return the number of events that have been suppressed since the last call
+     */
+    synchronized long endInitialization() {
+        this.initializing = false;
+        this.buffer = null;
+        update();
+        return this.suppressed.sumThenReset();
+    }
+
+    /**
+     * Close the gate until a matching call to {@link #unsuppress()}. Sections may be
+     * nested.
+     * @param loggerContext the logger context
+     */
+    synchronized void suppress(LoggerContext loggerContext) {
+        bind(loggerContext);
+        this.sections++;
+        update();
+    }
+
+    synchronized void unsuppress() {
+        this.sections = Math.max(0, this.sections - 1);
+        update();
+    }
+
+    /**
+     * Set the filter to consult while the gate is open, stopping the previous one.
+     * @param loggerContext the logger context
+     * @param delegate the filter or {@code null}
+     */
+    synchronized void setDelegate(LoggerContext loggerContext, TurboFilter delegate) {
+        bind(loggerContext);
+        TurboFilter previous = this.delegate;
+        this.delegate = delegate;
+        if (previous != null && previous != delegate) {
+            previous.stop();
+        }
+        update();
+    }
+
+    /**
+     * Open the gate, drop the delegate and remove the gate from the context.
+     */
+    synchronized void detach() {
+        this.initializing = false;
+        this.buffer = null;
+        this.sections = 0;
+        setDelegate(null, null);
+        this.suppressed.reset();
+        LoggerContext loggerContext = (LoggerContext) getContext();
+        if (loggerContext != null) {
+            loggerContext.removeListener(this);
+        }
+    }
+
+    /**
+     * Add the gate back to the given context after it has been stopped and reset.
+     * @param loggerContext the logger context
+     */
+    synchronized void reattach(LoggerContext loggerContext) {
+        bind(loggerContext);
+        update();
+    }
+
+    @Override
+    public void stop() {
+        // Called when the context resets its turbo filters
+        TurboFilter delegate = this.delegate;
+        this.delegate = null;
+        if (delegate != null) {
+            delegate.stop();
+        }
+        super.stop();
+    }
+
+    private void bind(LoggerContext loggerContext) {
+        if (loggerContext == null) {
+            return;
+        }
+        if (getContext() != loggerContext) {
+            setContext(loggerContext);
+        }
+        if (!loggerContext.getCopyOfListenerList().contains(this)) {
+            loggerContext.addListener(this);
+        }
+    }
+
+    private void update() {
+        this.closed = this.initializing || this.sections > 0;
+        LoggerContext loggerContext = (LoggerContext) getContext();
+        if (loggerContext == null) {
+            return;
+        }
+        boolean required = this.closed || this.delegate != null;
+        boolean registered = loggerContext.getTurboFilterList().contains(this);
+        if (required && !registered) {
+            start();
+            loggerContext.getTurboFilterList().add(this);
+        }
+        else if (!required && registered) {
+            loggerContext.getTurboFilterList().remove(this);
+        }
+    }
+
+    @Override
+    public boolean isResetResistant() {
+        return true;
+    }
+
+    @Override
+    public void onStart(LoggerContext context) {
+    }
+
+    @Override
+    public synchronized void onReset(LoggerContext context) {
+        update();
+    }
+
+    @Override
+    public void onStop(LoggerContext context) {
+    }
+
+    @Override
+    public void onLevelChange(Logger logger, Level level) {
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.logging.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.rolling.SizeAndTimeBasedRollingPolicy;
+import ch.qos.logback.core.util.FileSize;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MappedRollingFileAppender}.
+ */
+@DisabledOnOs(value = OS.WINDOWS, disabledReason = "A mapped file cannot be truncated or renamed")
+class MappedRollingFileAppenderTests {
+
+    private static final int WINDOW_SIZE = 1024;
+
+    @TempDir
+    Path temp;
+
+    private final LoggerContext context = new LoggerContext();
+
+    private final MappedRollingFileAppender<ILoggingEvent> appender = new MappedRollingFileAppender<>();
+
+    private File file;
+
+    @BeforeEach
+    void setUp() {
+        this.context.setMDCAdapter(new LogbackMDCAdapter());
+        this.file = this.temp.resolve("test.log").toFile();
+        this.appender.setContext(this.context);
+        this.appender.setFile(this.file.getPath());
+        this.appender.setWindowSize(new FileSize(WINDOW_SIZE));
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(this.context);
+        encoder.setPattern("%msg%n");
+        encoder.start();
+        this.appender.setEncoder(encoder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.appender.stop();
+        this.context.stop();
+    }
+
+    @Test
+    void startTrimsZerosLeftByUnclosedWindow() throws IOException {
+        byte[] content = "before crash\n".getBytes(StandardCharsets.UTF_8);
+        byte[] padded = Arrays.copyOf(content, content.length + 3000);
+        Files.write(this.file.toPath(), padded);
+        startWithRollingPolicy(FileSize.valueOf("1MB"));
+        append("after restart");
+        this.appender.stop();
+        assertThat(Files.readString(this.file.toPath())).isEqualTo("before crash\nafter restart\n");
+    }
+
+    @Test
+    void stopTruncatesFileToWrittenLength() throws IOException {
+        startWithRollingPolicy(FileSize.valueOf("1MB"));
+        assertThat(this.file).hasSize(WINDOW_SIZE);
+        append("hello");
+        this.appender.stop();
+        assertThat(this.file).hasSize(6);
+    }
+
+    @Test
+    void writesAcrossWindows() throws IOException {
+        startWithRollingPolicy(FileSize.valueOf("1MB"));
+        String message = "x".repeat(WINDOW_SIZE * 2 + 100);
+        append(message);
+        this.appender.stop();
+        assertThat(Files.readString(this.file.toPath())).isEqualTo(message + "\n");
+    }
+
+    @Test
+    void rollsOverWhenWindowIsFull() throws IOException {
+        startWithRollingPolicy(new FileSize(WINDOW_SIZE));
+        String message = "x".repeat(99);
+        for (int i = 0; i < 40; i++) {
+            append(message);
+        }
+        this.appender.stop();
+        File[] archives = archives();
+        assertThat(archives).isNotEmpty();
+        long total = this.file.length();
+        for (File archive : archives) {
+            assertThat(archive.length()).isLessThanOrEqualTo(WINDOW_SIZE + message.length() + 1);
+            assertThat(Files.readAllBytes(archive.toPath())).doesNotContain((byte) 0);
+            total += archive.length();
+        }
+        assertThat(total).isEqualTo(40L * (message.length() + 1));
+    }
+
+    private void startWithRollingPolicy(FileSize maxFileSize) {
+        SizeAndTimeBasedRollingPolicy<ILoggingEvent> policy = new SizeAndTimeBasedRollingPolicy<>();
+        policy.setContext(this.context);
+        policy.setFileNamePattern(this.temp.resolve("test.%d{yyyy-MM-dd}.%i.log").toString());
+        policy.setMaxFileSize(maxFileSize);
+        policy.setParent(this.appender);
+        policy.start();
+        this.appender.setRollingPolicy(policy);
+        this.appender.start();
+        assertThat(this.appender.isStarted()).isTrue();
+    }
+
+    private void append(String message) {
+        this.appender.doAppend(new LoggingEvent(getClass().getName(), this.context.getLogger("test"), Level.INFO,
+                message, null, null));
+    }
+
+    private File[] archives() throws IOException {
+        try (Stream<Path> files = Files.list(this.temp)) {
+            return files.map(Path::toFile).filter((candidate) -> !candidate.equals(this.file)).toArray(File[]::new);
+        }
+    }
+
+}